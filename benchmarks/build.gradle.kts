@@ -0,0 +1,135 @@
+plugins {
+    id("buildlogic.java-common-conventions")
+    alias(libs.plugins.jmh)
+}
+
+repositories {
+    mavenCentral()
+}
+
+// Synthetic test suites run end to end against Docker by the suiteBenchmark task
+val suites by sourceSets.creating
+
+dependencies {
+    jmh(project(":spring-testcontainers"))
+    jmh(project(":modules:postgresql"))
+    jmh(libs.testcontainers.postgresql)
+    jmh(libs.logback.classic)
+
+    "suitesImplementation"(project(":spring-testcontainers"))
+    "suitesImplementation"(project(":modules:postgresql"))
+    "suitesImplementation"(project(":modules:mysql"))
+    "suitesImplementation"(project(":modules:kafka"))
+    "suitesImplementation"(platform(libs.junit.bom))
+    "suitesImplementation"(platform(libs.spring.bom))
+    "suitesImplementation"(libs.junit.jupiter)
+    "suitesImplementation"(libs.junit.platform.launcher)
+    "suitesImplementation"(libs.spring.test)
+    "suitesImplementation"(libs.spring.context)
+    "suitesImplementation"(libs.testcontainers)
+    "suitesRuntimeOnly"(libs.logback.classic)
+    "suitesRuntimeOnly"(libs.postgresql)
+    "suitesRuntimeOnly"(libs.mysql)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.asProvider())
+    resultFormat.set("JSON")
+    // Run a subset with -PjmhIncludes=<regex>, such as -PjmhIncludes=ContainerRegistry
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// Annotation import, annotation and property checked by the generated test classes, per container
+val suiteContainers =
+    mapOf(
+        "postgresql" to
+            Triple(
+                "io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL",
+                "@EnablePostgreSQL(version = \"16.3\")",
+                "spring.datasource.url",
+            ),
+        "mysql" to
+            Triple(
+                "io.flowinquiry.testcontainers.jdbc.mysql.EnableMySQL",
+                "@EnableMySQL(version = \"8.0\")",
+                "spring.datasource.url",
+            ),
+        "kafka" to
+            Triple(
+                "io.flowinquiry.testcontainers.kafka.EnableKafkaContainer",
+                "@EnableKafkaContainer",
+                "spring.kafka.bootstrap-servers",
+            ),
+    )
+
+val suiteClasses = providers.gradleProperty("suiteClasses").orElse("10")
+
+val generateSuites by tasks.registering {
+    val classCount = suiteClasses.map(String::toInt)
+    val outputDir = layout.buildDirectory.dir("generated/sources/suites/java")
+    val containersBySuite = suiteContainers.keys.associateWith { listOf(it) } + ("mixed" to suiteContainers.keys.toList())
+    val containerDefinitions = suiteContainers
+    inputs.property("suiteClasses", classCount)
+    outputs.dir(outputDir)
+    doLast {
+        val root = outputDir.get().asFile
+        root.deleteRecursively()
+        containersBySuite.forEach { (suite, containers) ->
+            val packageName = "io.flowinquiry.testcontainers.benchmarks.suites.$suite"
+            val directory = root.resolve(packageName.replace('.', '/')).apply { mkdirs() }
+            for (index in 1..classCount.get()) {
+                val (annotationImport, annotation, property) =
+                    containerDefinitions.getValue(containers[(index - 1) % containers.size])
+                val className = "Synthetic%03dTest".format(index)
+                directory.resolve("$className.java").writeText(
+                    """
+                    package $packageName;
+
+                    import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+                    import $annotationImport;
+                    import io.flowinquiry.testcontainers.benchmarks.suites.SuiteConfiguration;
+                    import org.junit.jupiter.api.Test;
+                    import org.junit.jupiter.api.extension.ExtendWith;
+                    import org.springframework.beans.factory.annotation.Autowired;
+                    import org.springframework.core.env.Environment;
+                    import org.springframework.test.context.ContextConfiguration;
+                    import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+                    @ExtendWith(SpringExtension.class)
+                    @ContextConfiguration(classes = SuiteConfiguration.class)
+                    $annotation
+                    public class $className {
+
+                      @Autowired private Environment environment;
+
+                      @Test
+                      public void containerPropertiesAreApplied() {
+                        assertNotNull(environment.getProperty("$property"));
+                      }
+                    }
+                    """.trimIndent() + "\n",
+                )
+            }
+        }
+    }
+}
+
+suites.java.srcDir(generateSuites)
+
+tasks.register<JavaExec>("suiteBenchmark") {
+    description = "Runs synthetic test suites under every container lifecycle mode against Docker."
+    group = "verification"
+    classpath = suites.runtimeClasspath
+    mainClass.set("io.flowinquiry.testcontainers.benchmarks.suites.SuiteBenchmark")
+    val resultsDir = layout.buildDirectory.dir("results/suites")
+    outputs.dir(resultsDir)
+    outputs.upToDateWhen { false }
+    systemProperty("suite.results.dir", resultsDir.get().asFile.absolutePath)
+    systemProperty("suite.classes", suiteClasses.get())
+    // Narrow the runs with -PsuiteNames=postgresql,mixed -PsuiteModes=SHARED,PARALLEL -PsuiteRepetitions=3
+    mapOf("suiteNames" to "suite.names", "suiteModes" to "suite.modes", "suiteRepetitions" to "suite.repetitions")
+        .forEach { (property, systemProperty) ->
+            providers.gradleProperty(property).orNull?.let { systemProperty(systemProperty, it) }
+        }
+}
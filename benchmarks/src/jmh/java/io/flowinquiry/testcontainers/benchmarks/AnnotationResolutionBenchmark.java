@@ -0,0 +1,47 @@
+package io.flowinquiry.testcontainers.benchmarks;
+
+import io.flowinquiry.testcontainers.jdbc.EnableJdbcContainer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of the JDBC container configuration of test classes, which the extension
+ * performs in several callbacks of every test class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationResolutionBenchmark {
+
+  private final BenchmarkFixtures.ResolvingJdbcExtension extension =
+      new BenchmarkFixtures.ResolvingJdbcExtension();
+
+  /** Resolves a database annotation declared on the test class. */
+  @Benchmark
+  public EnableJdbcContainer directAnnotation() {
+    return extension.resolve(BenchmarkFixtures.PostgresTest.class);
+  }
+
+  /** Resolves a database annotation declared through a composed annotation. */
+  @Benchmark
+  public EnableJdbcContainer composedAnnotation() {
+    return extension.resolve(BenchmarkFixtures.ComposedPostgresTest.class);
+  }
+
+  /** Resolves a test class without database annotation. */
+  @Benchmark
+  public EnableJdbcContainer noAnnotation() {
+    return extension.resolve(BenchmarkFixtures.PlainTest.class);
+  }
+}
@@ -0,0 +1,37 @@
+package io.flowinquiry.testcontainers.benchmarks;
+
+import io.flowinquiry.testcontainers.jdbc.EnableJdbcContainer;
+import io.flowinquiry.testcontainers.jdbc.JdbcContainerExtension;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/** Test classes and helpers shared by the benchmarks. */
+final class BenchmarkFixtures {
+
+  private BenchmarkFixtures() {}
+
+  /** Test class annotated directly with a database annotation. */
+  @EnablePostgreSQL(version = "16.3")
+  static final class PostgresTest {}
+
+  /** Composed annotation declaring the database one level further down the hierarchy. */
+  @Retention(RetentionPolicy.RUNTIME)
+  @EnablePostgreSQL(version = "16.3")
+  @interface PostgresIntegrationTest {}
+
+  /** Test class annotated with a composed annotation. */
+  @PostgresIntegrationTest
+  static final class ComposedPostgresTest {}
+
+  /** Test class without container annotation, as most classes of a mixed suite. */
+  static final class PlainTest {}
+
+  /** Exposes the annotation resolution of the JDBC extension to the benchmarks. */
+  static final class ResolvingJdbcExtension extends JdbcContainerExtension {
+
+    EnableJdbcContainer resolve(Class<?> testClass) {
+      return getResolvedAnnotation(testClass);
+    }
+  }
+}
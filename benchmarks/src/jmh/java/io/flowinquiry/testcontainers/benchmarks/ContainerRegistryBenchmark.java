@@ -0,0 +1,108 @@
+package io.flowinquiry.testcontainers.benchmarks;
+
+import io.flowinquiry.testcontainers.ContainerHandle;
+import io.flowinquiry.testcontainers.ContainerKey;
+import io.flowinquiry.testcontainers.ContainerRegistry;
+import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Measures the access to a shared container in the {@link ContainerRegistry} by test classes
+ * running in parallel. The container is a stand-in that is never started, and one reference is held
+ * throughout, so that only the bookkeeping of the registry is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerRegistryBenchmark {
+
+  private ContainerKey key;
+
+  @Setup
+  public void setUp() {
+    key = ContainerKey.of(BenchmarkFixtures.PostgresTest.class.getAnnotations()[0]);
+    ContainerRegistry.acquire(key, IdleProvider::new);
+  }
+
+  @TearDown
+  public void tearDown() {
+    ContainerRegistry.clearAll();
+  }
+
+  /** Acquires and releases the container from a single thread. */
+  @Benchmark
+  @Threads(1)
+  public ContainerHandle acquireRelease() {
+    return acquireAndRelease();
+  }
+
+  /** Acquires and releases the container from as many threads as there are processors. */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public ContainerHandle acquireReleaseContended() {
+    return acquireAndRelease();
+  }
+
+  /** Looks up the started container from as many threads as there are processors. */
+  @Benchmark
+  @Threads(Threads.MAX)
+  public ContainerHandle getContended() {
+    return ContainerRegistry.get(key);
+  }
+
+  private ContainerHandle acquireAndRelease() {
+    ContainerHandle provider = ContainerRegistry.acquire(key, IdleProvider::new);
+    ContainerRegistry.release(key);
+    return provider;
+  }
+
+  /** Provider standing in for a started container, without Docker. */
+  static final class IdleProvider
+      extends SpringAwareContainerProvider<Annotation, IdleProvider.IdleContainer> {
+
+    @Override
+    protected IdleContainer createContainer() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void stop() {}
+
+    @Override
+    public ContainerType getContainerType() {
+      return ContainerType.POSTGRESQL;
+    }
+
+    @Override
+    public void applyTo(ConfigurableEnvironment environment) {}
+
+    static final class IdleContainer extends GenericContainer<IdleContainer> {
+      IdleContainer() {
+        super(DockerImageName.parse("postgres"));
+      }
+    }
+  }
+}
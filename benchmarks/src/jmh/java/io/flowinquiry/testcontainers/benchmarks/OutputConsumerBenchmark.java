@@ -0,0 +1,53 @@
+package io.flowinquiry.testcontainers.benchmarks;
+
+import io.flowinquiry.testcontainers.Slf4jOutputConsumer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Measures the throughput of {@link Slf4jOutputConsumer} for a typical database log line. With the
+ * default levels, standard output is logged at DEBUG and dropped by the INFO logger, while standard
+ * error is logged at ERROR. Log events reach a no-op appender, see {@code logback.xml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputConsumerBenchmark {
+
+  private static final byte[] LINE =
+      "2025-01-01 00:00:00.000 UTC [1] LOG:  database system is ready to accept connections\n"
+          .getBytes(StandardCharsets.UTF_8);
+
+  private final Slf4jOutputConsumer consumer =
+      new Slf4jOutputConsumer(LoggerFactory.getLogger("benchmark.container"));
+
+  private final OutputFrame stdout = new OutputFrame(OutputFrame.OutputType.STDOUT, LINE);
+
+  private final OutputFrame stderr = new OutputFrame(OutputFrame.OutputType.STDERR, LINE);
+
+  /** Consumes a frame whose level is disabled. */
+  @Benchmark
+  public void stdoutDisabled() {
+    consumer.accept(stdout);
+  }
+
+  /** Consumes a frame whose level is enabled. */
+  @Benchmark
+  public void stderrEnabled() {
+    consumer.accept(stderr);
+  }
+}
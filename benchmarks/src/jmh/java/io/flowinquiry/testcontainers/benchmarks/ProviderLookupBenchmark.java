@@ -0,0 +1,56 @@
+package io.flowinquiry.testcontainers.benchmarks;
+
+import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ServiceLoaderContainerFactory;
+import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
+import io.flowinquiry.testcontainers.jdbc.EnableJdbcContainer;
+import io.flowinquiry.testcontainers.jdbc.SpringAwareJdbcContainerProvider;
+import io.flowinquiry.testcontainers.jdbc.postgresql.PostgreSqlContainerProvider;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of a container provider for a test class: the lookup of the provider
+ * registered for a container type, and the initialization of the provider from the annotation,
+ * which creates the container object without starting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderLookupBenchmark {
+
+  private EnableJdbcContainer annotation;
+
+  @Setup
+  public void setUp() {
+    annotation =
+        new BenchmarkFixtures.ResolvingJdbcExtension()
+            .resolve(BenchmarkFixtures.PostgresTest.class);
+  }
+
+  /** Looks up, instantiates and initializes the PostgreSQL provider. */
+  @Benchmark
+  public SpringAwareContainerProvider<?, ?> getProvider() {
+    return ServiceLoaderContainerFactory.getProvider(ContainerType.POSTGRESQL, annotation);
+  }
+
+  /** Initializes a provider instantiated directly, without the service lookup. */
+  @Benchmark
+  public SpringAwareContainerProvider<?, ?> initContainerInstance() {
+    SpringAwareJdbcContainerProvider<?> provider = new PostgreSqlContainerProvider();
+    provider.initContainerInstance(annotation);
+    return provider;
+  }
+}
@@ -0,0 +1,56 @@
+package io.flowinquiry.testcontainers.benchmarks.suites;
+
+import java.util.Map;
+
+/** The container lifecycle modes a synthetic suite is run under. */
+enum LifecycleMode {
+
+  /** Every test class starts and stops its own containers. */
+  PER_CLASS(Map.of("flowinquiry.testcontainers.sharing.enabled", "false"), Map.of()),
+
+  /**
+   * Every test class declares its own containers, which Testcontainers reuses across test classes
+   * and runs. Requires {@code testcontainers.reuse.enable} to be allowed by the environment.
+   */
+  REUSE(
+      Map.of("flowinquiry.testcontainers.sharing.enabled", "false"),
+      Map.of("TESTCONTAINERS_REUSE_ENABLE", "true")),
+
+  /** Test classes with the same container configuration share one container, the default. */
+  SHARED(Map.of("flowinquiry.testcontainers.sharing.enabled", "true"), Map.of()),
+
+  /** Like {@link #SHARED}, with test classes running concurrently. */
+  PARALLEL(
+      Map.of(
+          "flowinquiry.testcontainers.sharing.enabled", "true",
+          "junit.jupiter.execution.parallel.enabled", "true",
+          "junit.jupiter.execution.parallel.mode.classes.default", "concurrent"),
+      Map.of());
+
+  private final Map<String, String> systemProperties;
+
+  private final Map<String, String> environment;
+
+  LifecycleMode(Map<String, String> systemProperties, Map<String, String> environment) {
+    this.systemProperties = systemProperties;
+    this.environment = environment;
+  }
+
+  /**
+   * Returns the system properties selecting the mode in the JVM running the suite.
+   *
+   * @return the system properties of the mode
+   */
+  Map<String, String> systemProperties() {
+    return systemProperties;
+  }
+
+  /**
+   * Returns the environment variables selecting the mode in the JVM running the suite.
+   *
+   * @return the environment variables of the mode
+   */
+  Map<String, String> environment() {
+    return environment;
+  }
+}
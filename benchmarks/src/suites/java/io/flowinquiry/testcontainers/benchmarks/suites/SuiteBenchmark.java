@@ -0,0 +1,151 @@
+package io.flowinquiry.testcontainers.benchmarks.suites;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Runs synthetic test suites end to end under every container {@link LifecycleMode lifecycle mode},
+ * and writes their wall time, container starts and Spring context starts to {@code suites.csv} and
+ * {@code suites.json}. Docker must be available.
+ *
+ * <p>The suites are generated by the build, with {@code suite.classes} test classes each: one per
+ * container type and a mixed one cycling through PostgreSQL, MySQL and Kafka. Every run is executed
+ * in a fresh JVM by {@link SuiteRunner}. The runs are selected with the system properties {@code
+ * suite.names}, {@code suite.modes} and {@code suite.repetitions}; repeating runs shows the effect
+ * of containers reused from a previous run in {@link LifecycleMode#REUSE} mode.
+ */
+public final class SuiteBenchmark {
+
+  private static final List<String> SUITES = List.of("postgresql", "mysql", "kafka", "mixed");
+
+  private static final List<String> COLUMNS =
+      List.of(
+          "suite",
+          "mode",
+          "repetition",
+          "testClasses",
+          "testsSucceeded",
+          "testsFailed",
+          "wallMillis",
+          "containerStarts",
+          "contextStarts");
+
+  private SuiteBenchmark() {}
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (!DockerClientFactory.instance().isDockerAvailable()) {
+      throw new IllegalStateException("The suite benchmark needs a Docker daemon");
+    }
+
+    Path resultsDir = Paths.get(System.getProperty("suite.results.dir", "build/results/suites"));
+    String testClasses = System.getProperty("suite.classes", "10");
+    List<String> suites = listProperty("suite.names", SUITES);
+    List<LifecycleMode> modes =
+        listProperty("suite.modes", Arrays.stream(LifecycleMode.values()).map(Enum::name).toList())
+            .stream()
+            .map(LifecycleMode::valueOf)
+            .toList();
+    int repetitions = Integer.parseInt(System.getProperty("suite.repetitions", "1"));
+    Files.createDirectories(resultsDir);
+
+    List<Properties> results = new ArrayList<>();
+    for (String suite : suites) {
+      for (LifecycleMode mode : modes) {
+        for (int repetition = 1; repetition <= repetitions; repetition++) {
+          System.out.printf(
+              "Running suite %s in mode %s (%d/%d)%n", suite, mode, repetition, repetitions);
+          Properties result = run(suite, mode, resultsDir);
+          result.setProperty("repetition", Integer.toString(repetition));
+          result.setProperty("testClasses", testClasses);
+          System.out.printf(
+              "  %s ms, %s container starts, %s context starts, %s failed tests%n",
+              result.getProperty("wallMillis"),
+              result.getProperty("containerStarts"),
+              result.getProperty("contextStarts"),
+              result.getProperty("testsFailed"));
+          results.add(result);
+        }
+      }
+    }
+
+    Files.writeString(resultsDir.resolve("suites.csv"), toCsv(results), StandardCharsets.UTF_8);
+    Files.writeString(resultsDir.resolve("suites.json"), toJson(results), StandardCharsets.UTF_8);
+    System.out.println("Wrote suite measurements to " + resultsDir.toAbsolutePath());
+  }
+
+  /** Runs a suite in a fresh JVM and reads its measurements. */
+  private static Properties run(String suite, LifecycleMode mode, Path resultsDir)
+      throws IOException, InterruptedException {
+    Path resultFile = Files.createTempFile(resultsDir, suite + "-" + mode, ".properties");
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    mode.systemProperties().forEach((name, value) -> command.add("-D" + name + "=" + value));
+    command.add(SuiteRunner.class.getName());
+    command.add(suite);
+    command.add(mode.name());
+    command.add(resultFile.toString());
+
+    ProcessBuilder builder = new ProcessBuilder(command).inheritIO();
+    builder.environment().putAll(mode.environment());
+    int exitCode = builder.start().waitFor();
+    if (exitCode != 0) {
+      throw new IllegalStateException(
+          "Suite " + suite + " in mode " + mode + " exited with code " + exitCode);
+    }
+
+    Properties result = new Properties();
+    try (InputStream in = Files.newInputStream(resultFile)) {
+      result.load(in);
+    }
+    Files.delete(resultFile);
+    return result;
+  }
+
+  private static List<String> listProperty(String name, List<String> defaultValue) {
+    String value = System.getProperty(name);
+    if (value == null || value.isBlank()) return defaultValue;
+    return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+  }
+
+  private static String toCsv(List<Properties> results) {
+    StringBuilder csv = new StringBuilder(String.join(",", COLUMNS)).append('\n');
+    for (Properties result : results) {
+      csv.append(COLUMNS.stream().map(result::getProperty).collect(Collectors.joining(",")))
+          .append('\n');
+    }
+    return csv.toString();
+  }
+
+  private static String toJson(List<Properties> results) {
+    StringBuilder json = new StringBuilder("[");
+    String separator = "\n";
+    for (Properties result : results) {
+      json.append(separator).append("  {");
+      String fieldSeparator = "";
+      for (String column : COLUMNS) {
+        String value = result.getProperty(column);
+        json.append(fieldSeparator)
+            .append('"')
+            .append(column)
+            .append("\": ")
+            .append(column.equals("suite") || column.equals("mode") ? '"' + value + '"' : value);
+        fieldSeparator = ", ";
+      }
+      json.append('}');
+      separator = ",\n";
+    }
+    return json.append("\n]\n").toString();
+  }
+}
@@ -0,0 +1,27 @@
+package io.flowinquiry.testcontainers.benchmarks.suites;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration of the synthetic test classes. It declares no bean and only counts the
+ * application contexts started for the suite.
+ */
+@Configuration
+public class SuiteConfiguration {
+
+  private static final AtomicInteger contextStarts = new AtomicInteger();
+
+  public SuiteConfiguration() {
+    contextStarts.incrementAndGet();
+  }
+
+  /**
+   * Returns the number of application contexts started in this JVM.
+   *
+   * @return the number of context starts
+   */
+  static int contextStarts() {
+    return contextStarts.get();
+  }
+}
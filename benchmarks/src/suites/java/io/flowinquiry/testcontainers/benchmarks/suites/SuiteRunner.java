@@ -0,0 +1,113 @@
+package io.flowinquiry.testcontainers.benchmarks.suites;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Runs one synthetic suite in the current JVM and records its measurements. It is started in a
+ * fresh JVM by {@link SuiteBenchmark} for every run, so that the static state of the library, the
+ * Spring context cache and the Testcontainers configuration do not carry over between runs.
+ *
+ * <p>Arguments: the suite name, the {@link LifecycleMode} name and the file to write the
+ * measurements to, as properties.
+ */
+public final class SuiteRunner {
+
+  private SuiteRunner() {}
+
+  public static void main(String[] args) throws IOException {
+    String suite = args[0];
+    LifecycleMode mode = LifecycleMode.valueOf(args[1]);
+    Path resultFile = Paths.get(args[2]);
+
+    LauncherDiscoveryRequest request =
+        LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectPackage("io.flowinquiry.testcontainers.benchmarks.suites." + suite))
+            .build();
+    SummaryGeneratingListener summary = new SummaryGeneratingListener();
+
+    // Docker reports event times in seconds
+    long since = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    long startTime = System.nanoTime();
+    try (LauncherSession session = LauncherFactory.openSession()) {
+      Launcher launcher = session.getLauncher();
+      launcher.execute(request, summary);
+    }
+    long wallNanos = System.nanoTime() - startTime;
+    long until = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 1;
+
+    TestExecutionSummary result = summary.getSummary();
+    result
+        .getFailures()
+        .forEach(
+            failure ->
+                System.err.println(
+                    "Failed "
+                        + failure.getTestIdentifier().getDisplayName()
+                        + ": "
+                        + failure.getException()));
+
+    Properties measurements = new Properties();
+    measurements.setProperty("suite", suite);
+    measurements.setProperty("mode", mode.name());
+    measurements.setProperty("testsSucceeded", Long.toString(result.getTestsSucceededCount()));
+    measurements.setProperty("testsFailed", Long.toString(result.getTestsFailedCount()));
+    measurements.setProperty("wallMillis", Long.toString(TimeUnit.NANOSECONDS.toMillis(wallNanos)));
+    measurements.setProperty("containerStarts", Integer.toString(containerStarts(since, until)));
+    measurements.setProperty("contextStarts", Integer.toString(SuiteConfiguration.contextStarts()));
+    try (OutputStream out = Files.newOutputStream(resultFile)) {
+      measurements.store(out, "Synthetic suite measurements");
+    }
+  }
+
+  /**
+   * Counts the Testcontainers containers started during the run from the Docker events, which
+   * covers containers started by Testcontainers directly and excludes reused containers. The
+   * resource reaper is not counted.
+   */
+  private static int containerStarts(long since, long until) {
+    List<Event> events = new ArrayList<>();
+    try {
+      DockerClientFactory.instance()
+          .client()
+          .eventsCmd()
+          .withSince(Long.toString(since))
+          .withUntil(Long.toString(until))
+          .withEventFilter("start")
+          .withLabelFilter("org.testcontainers=true")
+          .exec(
+              new ResultCallback.Adapter<Event>() {
+                @Override
+                public void onNext(Event event) {
+                  events.add(event);
+                }
+              })
+          .awaitCompletion();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return (int)
+        events.stream()
+            .filter(event -> event.getFrom() == null || !event.getFrom().contains("ryuk"))
+            .count();
+  }
+}
@@ -0,0 +1,45 @@
+package io.flowinquiry.testcontainers.examples.mysql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.ContainerIsolation;
+import io.flowinquiry.testcontainers.jdbc.mysql.EnableMySQL;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that the clone of an isolated test class keeps the seeded values of columns with an
+ * expression default, and computes its generated columns again.
+ */
+@SpringBootTest(classes = MySqlDemoApp.class)
+@EnableMySQL(
+    version = "8.0",
+    initScripts = "clone-init.sql",
+    isolation = ContainerIsolation.PER_CLASS)
+@ActiveProfiles("test")
+public class IsolatedCloneTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Value("${spring.datasource.url}")
+  private String datasourceUrl;
+
+  @Test
+  public void testCloneKeepsSeededValues() {
+    assertTrue(datasourceUrl.contains("/clone_"), datasourceUrl);
+
+    Map<String, Object> row =
+        jdbcTemplate.queryForMap(
+            "SELECT DATE_FORMAT(created_at, '%Y-%m-%d %H:%i:%s') AS created_at, token, name_length"
+                + " FROM seeded_event WHERE id = 1");
+    assertEquals("2001-02-03 04:05:06", row.get("created_at"));
+    assertEquals("seeded-token", row.get("token"));
+    assertEquals(6, ((Number) row.get("name_length")).intValue());
+  }
+}
@@ -0,0 +1,10 @@
+CREATE TABLE seeded_event (
+    id          INT PRIMARY KEY,
+    name        VARCHAR(64) NOT NULL,
+    created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    token       VARCHAR(36) NOT NULL DEFAULT (uuid()),
+    name_length INT AS (CHAR_LENGTH(name))
+);
+
+INSERT INTO seeded_event (id, name, created_at, token)
+VALUES (1, 'seeded', '2001-02-03 04:05:06', 'seeded-token');
@@ -22,6 +22,8 @@ dependencies {
     testImplementation(libs.junit.jupiter)
     testImplementation(libs.junit.platform.launcher)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.flyway.core)
+    testImplementation(libs.flyway.database.postgresql)
 }
 
 tasks.test {
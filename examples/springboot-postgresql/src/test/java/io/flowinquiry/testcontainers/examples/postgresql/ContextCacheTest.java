@@ -0,0 +1,62 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.flowinquiry.testcontainers.ContainerContextCustomizerFactory;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.TestContextManager;
+
+@SpringBootTest(classes = PostgresqlDemoApp.class)
+@EnablePostgreSQL
+@ActiveProfiles("test")
+public class ContextCacheTest {
+
+  @Autowired private ApplicationContext applicationContext;
+
+  @Test
+  public void testCustomizersOfSameContainerConfigurationAreEqual() {
+    ContainerContextCustomizerFactory factory = new ContainerContextCustomizerFactory();
+
+    ContextCustomizer current = factory.createContextCustomizer(ContextCacheTest.class, List.of());
+    ContextCustomizer sameContainer =
+        factory.createContextCustomizer(SameContainerTest.class, List.of());
+    ContextCustomizer otherContainer =
+        factory.createContextCustomizer(OtherContainerTest.class, List.of());
+
+    assertEquals(current, sameContainer);
+    assertEquals(current.hashCode(), sameContainer.hashCode());
+    assertNotEquals(current, otherContainer);
+  }
+
+  @Test
+  public void testApplicationContextIsReusedAcrossTestClasses() throws Exception {
+    ApplicationContext sameContainerContext =
+        new TestContextManager(SameContainerTest.class).getTestContext().getApplicationContext();
+    ApplicationContext demoAppContext =
+        new TestContextManager(PostgresqlDemoAppTest.class)
+            .getTestContext()
+            .getApplicationContext();
+
+    assertSame(applicationContext, sameContainerContext);
+    assertSame(applicationContext, demoAppContext);
+  }
+
+  @SpringBootTest(classes = PostgresqlDemoApp.class)
+  @EnablePostgreSQL
+  @ActiveProfiles("test")
+  static class SameContainerTest {}
+
+  @SpringBootTest(classes = PostgresqlDemoApp.class)
+  @EnablePostgreSQL(version = "16.3")
+  @ActiveProfiles("test")
+  static class OtherContainerTest {}
+}
@@ -0,0 +1,137 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import io.flowinquiry.testcontainers.ContainerForks;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs a test class in two further JVMs sharing their container through {@link ContainerForks}, and
+ * verifies that both JVMs, including the one attaching to the container of the other, see the data
+ * of the init scripts in their own database.
+ */
+public class ForkSharingTest {
+
+  /** System property giving the forks the directory they report their datasource URL to. */
+  private static final String REPORT_DIR = "fork-sharing-test.dir";
+
+  private static final int FORKS = 2;
+
+  @TempDir Path reportDir;
+
+  @Test
+  public void testForkedJvmsSeeInitScriptData() throws Exception {
+    List<Process> forks = new ArrayList<>();
+    for (int i = 0; i < FORKS; i++) {
+      forks.add(launch());
+    }
+    for (Process fork : forks) {
+      assertTrue(fork.waitFor(5, TimeUnit.MINUTES), "Fork did not complete in time");
+      assertEquals(0, fork.exitValue(), "Fork failed, see its output");
+    }
+
+    List<String> urls = reportedUrls(reportDir);
+    assertEquals(FORKS, urls.size());
+    assertEquals(
+        1,
+        urls.stream().map(url -> url.substring(0, url.lastIndexOf('/'))).distinct().count(),
+        "All forks must use the same container: " + urls);
+    assertEquals(FORKS, new HashSet<>(urls).size(), "Every fork must use its own database");
+  }
+
+  /** Launches a JVM running {@link ForkFixture} with fork sharing enabled. */
+  private Process launch() throws IOException {
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add("-D" + REPORT_DIR + "=" + reportDir);
+    command.add("-D" + ContainerForks.FORK_SHARING_ENABLED + "=true");
+    command.add("-D" + ContainerForks.FORK_SHARING_DIR + "=" + reportDir.resolve("forks"));
+    command.add(ForkRunner.class.getName());
+    return new ProcessBuilder(command).inheritIO().start();
+  }
+
+  private static List<String> reportedUrls(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      List<String> urls = new ArrayList<>();
+      for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".url")).toList()) {
+        urls.add(Files.readString(file));
+      }
+      return urls;
+    }
+  }
+
+  /** Entry point of the forks, running {@link ForkFixture}. */
+  public static final class ForkRunner {
+
+    public static void main(String[] args) {
+      SummaryGeneratingListener listener = new SummaryGeneratingListener();
+      LauncherFactory.create()
+          .execute(
+              LauncherDiscoveryRequestBuilder.request()
+                  .selectors(selectClass(ForkFixture.class))
+                  .build(),
+              listener);
+      TestExecutionSummary summary = listener.getSummary();
+      summary.printFailuresTo(new PrintWriter(System.err, true), 20);
+      System.exit(
+          summary.getTestsSucceededCount() == 1 && summary.getTotalFailureCount() == 0 ? 0 : 1);
+    }
+  }
+
+  /**
+   * Checks the init script data and reports the datasource URL, then waits for the other fork, so
+   * that the container is shared rather than started by each fork in turn.
+   */
+  @SpringBootTest(classes = PostgresqlDemoApp.class)
+  @EnablePostgreSQL(initScripts = "fork-init.sql")
+  @ActiveProfiles("test")
+  @EnabledIfSystemProperty(named = REPORT_DIR, matches = ".+")
+  static class ForkFixture {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+
+    @Test
+    public void testInitScriptDataIsVisible() throws Exception {
+      assertEquals(
+          "inserted by the init script",
+          jdbcTemplate.queryForObject("SELECT note FROM fork_marker", String.class));
+
+      Path directory = Paths.get(System.getProperty(REPORT_DIR));
+      Files.writeString(directory.resolve(ProcessHandle.current().pid() + ".url"), datasourceUrl);
+      long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+      while (reportedUrls(directory).size() < FORKS) {
+        assertTrue(System.nanoTime() < deadline, "The other fork did not report in time");
+        Thread.sleep(100);
+      }
+    }
+  }
+}
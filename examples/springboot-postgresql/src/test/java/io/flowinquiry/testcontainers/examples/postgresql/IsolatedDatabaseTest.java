@@ -0,0 +1,41 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.ContainerIsolation;
+import io.flowinquiry.testcontainers.examples.postgresql.entity.Store;
+import io.flowinquiry.testcontainers.examples.postgresql.repository.StoreRepository;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(classes = PostgresqlDemoApp.class)
+@EnablePostgreSQL(isolation = ContainerIsolation.PER_METHOD)
+@ActiveProfiles("test")
+public class IsolatedDatabaseTest {
+
+  @Autowired private StoreRepository storeRepository;
+
+  @Value("${spring.datasource.url}")
+  private String datasourceUrl;
+
+  @Test
+  public void testFirstMethodStartsWithEmptyDatabase() {
+    assertTrue(datasourceUrl.contains("/clone_"), datasourceUrl);
+    storeRepository.save(new Store("First Store", "Saved by the first test method"));
+
+    assertEquals(1, storeRepository.count());
+  }
+
+  @Test
+  public void testSecondMethodStartsWithEmptyDatabase() {
+    assertTrue(datasourceUrl.contains("/clone_"), datasourceUrl);
+    storeRepository.save(new Store("Second Store", "Saved by the second test method"));
+
+    assertEquals(1, storeRepository.count());
+  }
+}
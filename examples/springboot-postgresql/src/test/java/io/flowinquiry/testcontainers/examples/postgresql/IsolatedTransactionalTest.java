@@ -0,0 +1,54 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.ContainerIsolation;
+import io.flowinquiry.testcontainers.examples.postgresql.entity.Store;
+import io.flowinquiry.testcontainers.examples.postgresql.repository.StoreRepository;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Verifies that the transaction of a test method isolated per method is rolled back before its
+ * application context is closed and its database released.
+ */
+@SpringBootTest(classes = PostgresqlDemoApp.class)
+@EnablePostgreSQL(isolation = ContainerIsolation.PER_METHOD)
+@ActiveProfiles("test")
+@Transactional
+public class IsolatedTransactionalTest {
+
+  @Autowired private StoreRepository storeRepository;
+
+  @Value("${spring.datasource.url}")
+  private String datasourceUrl;
+
+  @Test
+  public void testFirstMethodRunsInTransaction() {
+    assertTrue(datasourceUrl.contains("/clone_"), datasourceUrl);
+    storeRepository.save(new Store("First Store", "Rolled back after the first test method"));
+
+    assertEquals(1, storeRepository.count());
+  }
+
+  @Test
+  public void testSecondMethodRunsInTransaction() {
+    assertTrue(datasourceUrl.contains("/clone_"), datasourceUrl);
+    storeRepository.save(new Store("Second Store", "Rolled back after the second test method"));
+
+    assertEquals(1, storeRepository.count());
+  }
+
+  /** Runs once the transaction is rolled back, which requires the context to still be open. */
+  @AfterTransaction
+  public void verifyRolledBack() {
+    assertEquals(0, storeRepository.count());
+  }
+}
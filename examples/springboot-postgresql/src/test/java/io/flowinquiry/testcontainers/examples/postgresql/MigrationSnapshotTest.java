@@ -0,0 +1,79 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.ContainerPhase;
+import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ServiceLoaderContainerFactory;
+import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
+import io.flowinquiry.testcontainers.jdbc.EnableJdbcContainer;
+import io.flowinquiry.testcontainers.jdbc.JdbcContainerExtension;
+import io.flowinquiry.testcontainers.jdbc.MigrationTool;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that schema migrations run once per migration hash without enabling snapshot mode: a
+ * second container restored from the snapshot of the first one has the migrated schema without
+ * running the migrations again.
+ */
+public class MigrationSnapshotTest {
+
+  @EnablePostgreSQL(
+      migrations = MigrationTool.FLYWAY,
+      migrationLocations = "classpath:db/snapshot-migration")
+  static final class MigratedDatabase {}
+
+  /** Exposes the annotation resolution of the JDBC extension to the test. */
+  static final class ResolvingJdbcExtension extends JdbcContainerExtension {
+
+    EnableJdbcContainer resolve(Class<?> testClass) {
+      return getResolvedAnnotation(testClass);
+    }
+  }
+
+  @Test
+  public void testSecondContainerDoesNotRerunMigrations() throws Exception {
+    EnableJdbcContainer annotation = new ResolvingJdbcExtension().resolve(MigratedDatabase.class);
+    // Makes sure the snapshot of the migrated database exists, whether or not an earlier run left
+    // it behind.
+    SpringAwareContainerProvider<?, ?> first =
+        ServiceLoaderContainerFactory.getProvider(ContainerType.POSTGRESQL, annotation);
+    first.start();
+    first.stop();
+
+    SpringAwareContainerProvider<?, ?> second =
+        ServiceLoaderContainerFactory.getProvider(ContainerType.POSTGRESQL, annotation);
+    second.start();
+    try {
+      assertFalse(
+          second.getTimings().containsKey(ContainerPhase.MIGRATE),
+          "The migrations ran again: " + second.getTimings());
+      assertEquals("migrated", migratedNote(second.captureProperties()));
+    } finally {
+      second.stop();
+    }
+  }
+
+  /** Reads the row inserted by the migration through the datasource properties of a container. */
+  private static String migratedNote(Map<String, Object> properties) throws Exception {
+    try (Connection connection =
+            DriverManager.getConnection(
+                (String) properties.get("spring.datasource.url"),
+                (String) properties.get("spring.datasource.username"),
+                (String) properties.get("spring.datasource.password"));
+        Statement statement = connection.createStatement();
+        ResultSet resultSet =
+            statement.executeQuery("SELECT note FROM snapshot_marker WHERE id = 1")) {
+      assertTrue(resultSet.next(), "The migrated table has no row");
+      return resultSet.getString(1);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package io.flowinquiry.testcontainers.examples.postgresql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import io.flowinquiry.testcontainers.ContainerHandle;
+import io.flowinquiry.testcontainers.ContainerRegistry;
+import io.flowinquiry.testcontainers.ContainerSettings;
+import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.jdbc.postgresql.EnablePostgreSQL;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs many test classes declaring the same container concurrently and verifies that all of them
+ * share a single container without double starts or premature stops.
+ *
+ * <p>Every test class records the handle of its container in the {@link ContainerRegistry} and
+ * queries the database through it. A second start, or a stop followed by a restart, would hand out
+ * another handle, and a stop while a test class runs would fail its query.
+ */
+public class ParallelLifecycleTest {
+
+  private static final int PARALLELISM = 8;
+
+  private static volatile boolean running;
+
+  /** Configuration parameter only set for the nested test plan. */
+  private static final String NESTED_PARAMETER = "parallel-lifecycle-test.nested";
+
+  private static final Set<ContainerHandle> containers = ConcurrentHashMap.newKeySet();
+
+  @Test
+  public void testClassesRunningInParallelShareOneContainer() {
+    List<ClassSelector> selectors =
+        List.of(
+            selectClass(Fixture1.class),
+            selectClass(Fixture2.class),
+            selectClass(Fixture3.class),
+            selectClass(Fixture4.class),
+            selectClass(Fixture5.class),
+            selectClass(Fixture6.class),
+            selectClass(Fixture7.class),
+            selectClass(Fixture8.class),
+            selectClass(Fixture9.class),
+            selectClass(Fixture10.class),
+            selectClass(Fixture11.class),
+            selectClass(Fixture12.class));
+    LauncherDiscoveryRequest request =
+        LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectors)
+            .configurationParameter(NESTED_PARAMETER, "true")
+            .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+            .configurationParameter(
+                "junit.jupiter.execution.parallel.mode.classes.default", "concurrent")
+            .configurationParameter("junit.jupiter.execution.parallel.config.strategy", "fixed")
+            .configurationParameter(
+                "junit.jupiter.execution.parallel.config.fixed.parallelism",
+                String.valueOf(PARALLELISM))
+            .build();
+    SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+    running = true;
+    try {
+      LauncherFactory.create().execute(request, listener);
+    } finally {
+      running = false;
+    }
+
+    TestExecutionSummary summary = listener.getSummary();
+    assertEquals(0, summary.getTotalFailureCount(), () -> describeFailures(summary));
+    assertEquals(selectors.size(), summary.getTestsSucceededCount());
+    assertEquals(1, containers.size(), "All test classes must use one container, started once");
+    assertTrue(
+        ContainerSettings.get(NESTED_PARAMETER).isEmpty(),
+        "The settings of the nested test plan must not outlive it");
+  }
+
+  /** Describes the failures of the nested test plan, with their stack traces. */
+  private static String describeFailures(TestExecutionSummary summary) {
+    StringWriter failures = new StringWriter();
+    summary.printFailuresTo(new PrintWriter(failures), 20);
+    return failures.toString();
+  }
+
+  static boolean isRunning() {
+    return running;
+  }
+
+  /** Declares the container of a fixture, which only runs when launched by the test above. */
+  @Target(ElementType.TYPE)
+  @Retention(RetentionPolicy.RUNTIME)
+  @SpringBootTest(classes = PostgresqlDemoApp.class)
+  @EnablePostgreSQL
+  @ActiveProfiles("test")
+  @EnabledIf("io.flowinquiry.testcontainers.examples.postgresql.ParallelLifecycleTest#isRunning")
+  @interface ParallelFixture {}
+
+  abstract static class AbstractFixture {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testRecordContainer() {
+      ContainerHandle container = ContainerRegistry.get(getClass(), ContainerType.POSTGRESQL);
+      assertNotNull(container);
+      containers.add(container);
+      assertEquals(1, jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+    }
+  }
+
+  @ParallelFixture
+  static class Fixture1 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture2 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture3 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture4 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture5 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture6 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture7 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture8 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture9 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture10 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture11 extends AbstractFixture {}
+
+  @ParallelFixture
+  static class Fixture12 extends AbstractFixture {}
+}
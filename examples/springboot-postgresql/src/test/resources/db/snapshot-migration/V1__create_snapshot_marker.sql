@@ -0,0 +1,6 @@
+CREATE TABLE snapshot_marker (
+    id   INTEGER PRIMARY KEY,
+    note VARCHAR(64) NOT NULL
+);
+
+INSERT INTO snapshot_marker (id, note) VALUES (1, 'migrated');
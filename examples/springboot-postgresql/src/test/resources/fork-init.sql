@@ -0,0 +1,2 @@
+CREATE TABLE fork_marker (note VARCHAR(100) NOT NULL);
+INSERT INTO fork_marker (note) VALUES ('inserted by the init script');
@@ -0,0 +1,172 @@
+package io.flowinquiry.testcontainers.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * Runs the schema migrations of a {@link MigrationTool} and hashes their resources.
+ *
+ * <p>Flyway and Liquibase are optional dependencies: the classes using them are only loaded once a
+ * container declares the corresponding tool.
+ */
+final class DatabaseMigrations {
+
+  /** Flyway location used if the container annotation declares none. */
+  static final String FLYWAY_DEFAULT_LOCATION = "classpath:db/migration";
+
+  /** Liquibase change log used if the container annotation declares none. */
+  static final String LIQUIBASE_DEFAULT_CHANGELOG =
+      "classpath:db/changelog/db.changelog-master.yaml";
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private DatabaseMigrations() {}
+
+  /**
+   * Returns the migration locations, or the default ones of the tool if none are declared.
+   *
+   * @param tool the migration tool
+   * @param locations the locations declared on the container annotation
+   * @return the Flyway locations, or the Liquibase change log
+   */
+  static String[] locations(MigrationTool tool, String[] locations) {
+    if (locations.length > 0) return locations;
+    return switch (tool) {
+      case FLYWAY -> new String[] {FLYWAY_DEFAULT_LOCATION};
+      case LIQUIBASE -> new String[] {LIQUIBASE_DEFAULT_CHANGELOG};
+      case NONE -> new String[0];
+    };
+  }
+
+  /**
+   * Hashes the content of the migration resources. Flyway locations are hashed with everything
+   * below them, and a Liquibase change log with everything in its directory, which includes the
+   * change logs it usually includes. Resources are identified by their path relative to the
+   * location, so that the hash does not depend on where the classpath lives.
+   *
+   * @param locations the Flyway locations, or the Liquibase change log
+   * @param tool the migration tool
+   * @return the SHA-256 hash of the resources, as hexadecimal string
+   * @throws IllegalArgumentException if the resources can not be read
+   */
+  static String hash(MigrationTool tool, String[] locations) {
+    Map<String, Resource> resources = new TreeMap<>();
+    PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    for (String location : locations) {
+      String directory = location.replaceFirst("^(classpath\\*?|filesystem):", "");
+      if (tool == MigrationTool.LIQUIBASE) {
+        int slash = directory.lastIndexOf('/');
+        directory = slash < 0 ? "" : directory.substring(0, slash);
+      }
+      directory = directory.replaceAll("^/+|/+$", "");
+      String prefix = location.startsWith("filesystem:") ? "file:" : "classpath*:";
+      try {
+        for (Resource resource :
+            resolver.getResources(prefix + (directory.isEmpty() ? "" : directory + "/") + "**/*")) {
+          if (!resource.isReadable()) continue;
+
+          String url = resource.getURL().toString();
+          int start = directory.isEmpty() ? -1 : url.lastIndexOf(directory + "/");
+          resources.putIfAbsent(
+              location + ":" + (start < 0 ? url : url.substring(start)), resource);
+        }
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Can not list migration resources of " + location, e);
+      }
+    }
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (Map.Entry<String, Resource> entry : resources.entrySet()) {
+        digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+        try (InputStream content = entry.getValue().getInputStream()) {
+          digest.update(content.readAllBytes());
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Can not read migration resources", e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Migrates a database with the given tool.
+   *
+   * @param tool the migration tool
+   * @param locations the Flyway locations, or the Liquibase change log
+   * @param url the JDBC URL of the database
+   * @param username the user to connect with
+   * @param password the password of the user
+   * @throws IllegalStateException if the tool is not on the classpath or the migration fails
+   */
+  static void migrate(
+      MigrationTool tool, String[] locations, String url, String username, String password) {
+    switch (tool) {
+      case FLYWAY -> {
+        requireClass("org.flywaydb.core.Flyway", "flyway-core");
+        FlywayMigrations.migrate(locations, url, username, password);
+      }
+      case LIQUIBASE -> {
+        requireClass("liquibase.Liquibase", "liquibase-core");
+        LiquibaseMigrations.migrate(locations, url, username, password);
+      }
+      case NONE -> {}
+    }
+  }
+
+  private static void requireClass(String className, String artifact) {
+    try {
+      Class.forName(className, false, DatabaseMigrations.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(
+          "Migrations require " + artifact + " on the test classpath", e);
+    }
+  }
+
+  /** Runs Flyway migrations, only loaded if Flyway is on the classpath. */
+  private static final class FlywayMigrations {
+    private static void migrate(String[] locations, String url, String username, String password) {
+      org.flywaydb.core.Flyway.configure(Thread.currentThread().getContextClassLoader())
+          .dataSource(url, username, password)
+          .locations(locations)
+          .load()
+          .migrate();
+    }
+  }
+
+  /** Runs Liquibase migrations, only loaded if Liquibase is on the classpath. */
+  private static final class LiquibaseMigrations {
+    @SuppressWarnings("deprecation")
+    private static void migrate(String[] locations, String url, String username, String password) {
+      try (Connection connection = DriverManager.getConnection(url, username, password)) {
+        liquibase.database.Database database =
+            liquibase.database.DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(
+                    new liquibase.database.jvm.JdbcConnection(connection));
+        for (String changeLog : locations) {
+          liquibase.Liquibase liquibase =
+              new liquibase.Liquibase(
+                  changeLog.replaceFirst("^classpath\\*?:", ""),
+                  new liquibase.resource.ClassLoaderResourceAccessor(
+                      Thread.currentThread().getContextClassLoader()),
+                  database);
+          liquibase.update(new liquibase.Contexts(), new liquibase.LabelExpression());
+        }
+      } catch (SQLException | liquibase.exception.LiquibaseException e) {
+        throw new IllegalStateException("Failed to run Liquibase migrations", e);
+      }
+    }
+  }
+}
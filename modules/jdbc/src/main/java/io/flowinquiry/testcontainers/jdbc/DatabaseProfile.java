@@ -0,0 +1,18 @@
+package io.flowinquiry.testcontainers.jdbc;
+
+/**
+ * Configuration profile of the database server running in a container.
+ *
+ * @see EnableJdbcContainer#profile()
+ */
+public enum DatabaseProfile {
+  /** The configuration of the database image, left unchanged. */
+  DEFAULT,
+
+  /**
+   * A configuration trading durability for speed, as test databases are thrown away anyway: the
+   * server does not wait for data to reach the disk, keeps its data directory in memory and sizes
+   * its caches to the memory limit of the container. A crash of the server loses its data.
+   */
+  FAST
+}
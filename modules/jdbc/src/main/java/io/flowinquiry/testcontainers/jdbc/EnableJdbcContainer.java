@@ -5,6 +5,7 @@ import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import io.flowinquiry.testcontainers.ContainerContextCustomizerFactory;
+import io.flowinquiry.testcontainers.ContainerIsolation;
 import io.flowinquiry.testcontainers.ContainerRegistry;
 import io.flowinquiry.testcontainers.ContainerType;
 import java.lang.annotation.Documented;
@@ -88,4 +89,101 @@ public @interface EnableJdbcContainer {
    * @return the Docker image version
    */
   String version() default "latest";
+
+  /**
+   * Specifies whether the container is started lazily.
+   *
+   * <p>A lazy container is not started before the test class runs, but when the Spring environment
+   * first resolves one of its connection properties, such as {@code spring.datasource.url}. Test
+   * classes whose application context never resolves these properties never start the container.
+   *
+   * @return true to start the container on first use, defaults to false
+   */
+  boolean lazy() default false;
+
+  /**
+   * Specifies SQL scripts to run once the database container has started, as classpath resource
+   * paths. The scripts are executed in the given order.
+   *
+   * <p>In snapshot mode, the content of the scripts is part of the snapshot tag: the container is
+   * committed after the scripts have run, and changing a script creates a new snapshot.
+   *
+   * @return the classpath paths of the init scripts, none by default
+   */
+  String[] initScripts() default {};
+
+  /**
+   * Specifies the number of CPUs the container may use, such as {@code 1.5}.
+   *
+   * @return the CPU limit, defaults to 0 for no limit
+   */
+  double cpus() default 0;
+
+  /**
+   * Specifies the memory limit of the container in megabytes.
+   *
+   * @return the memory limit, defaults to 0 for no limit
+   */
+  long memoryMb() default 0;
+
+  /**
+   * Specifies the size of {@code /dev/shm} in the container in megabytes.
+   *
+   * @return the shared memory size, defaults to 0 for the Docker default
+   */
+  long shmSizeMb() default 0;
+
+  /**
+   * Specifies paths in the container to mount as tmpfs, keeping their content in memory.
+   *
+   * @return the tmpfs mount paths, none by default
+   */
+  String[] tmpfs() default {};
+
+  /**
+   * Specifies whether the data directory of the database is mounted as tmpfs, avoiding disk I/O. It
+   * is ignored in snapshot mode, as the content of tmpfs mounts is not part of snapshots.
+   *
+   * @return true to keep the data in memory, defaults to false
+   */
+  boolean dataOnTmpfs() default false;
+
+  /**
+   * Specifies whether tests get a database of their own in the shared container, per test class or
+   * per test method. The database is cloned from a template holding the state left by the {@link
+   * #initScripts() init scripts}, and the datasource URL points at it.
+   *
+   * <p>Database types unable to clone a database give every isolation unit an empty database of its
+   * own instead, if they can create one, and share the default database otherwise.
+   *
+   * @return the isolation scope, defaults to {@link ContainerIsolation#NONE}
+   */
+  ContainerIsolation isolation() default ContainerIsolation.NONE;
+
+  /**
+   * Specifies the configuration profile of the database server. The {@link DatabaseProfile#FAST}
+   * profile turns off durability, keeps the data directory on tmpfs and sizes the caches of the
+   * server to {@link #memoryMb()}, for database types supporting it.
+   *
+   * @return the configuration profile, defaults to {@link DatabaseProfile#DEFAULT}
+   */
+  DatabaseProfile profile() default DatabaseProfile.DEFAULT;
+
+  /**
+   * Specifies the schema migration tool run once the {@link #initScripts() init scripts} have run.
+   * The migrated state is part of the template of {@link #isolation() isolated} databases, and the
+   * hash of the migration resources is part of the snapshot tag, so that changing a migration
+   * creates a new snapshot.
+   *
+   * @return the migration tool, defaults to {@link MigrationTool#NONE}
+   */
+  MigrationTool migrations() default MigrationTool.NONE;
+
+  /**
+   * Specifies the Flyway locations, or the Liquibase change log, of the {@link #migrations()
+   * migrations}. Defaults to the locations Spring Boot uses if empty.
+   *
+   * @return the migration locations, none by default
+   */
+  String[] migrationLocations() default {};
 }
@@ -1,13 +1,17 @@
 package io.flowinquiry.testcontainers.jdbc;
 
+import io.flowinquiry.testcontainers.AnnotationMetadata;
 import io.flowinquiry.testcontainers.ContainerLifecycleExtension;
 import io.flowinquiry.testcontainers.ContainerType;
 import io.flowinquiry.testcontainers.ServiceLoaderContainerFactory;
 import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.testcontainers.containers.GenericContainer;
 
 /**
@@ -36,6 +40,15 @@ import org.testcontainers.containers.GenericContainer;
  */
 public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJdbcContainer> {
 
+  /** Resolved configuration of every test class, so that its annotations are searched only once. */
+  private static final ClassValue<Optional<EnableJdbcContainer>> resolvedAnnotations =
+      new ClassValue<>() {
+        @Override
+        protected Optional<EnableJdbcContainer> computeValue(Class<?> testClass) {
+          return resolveAnnotation(testClass);
+        }
+      };
+
   /**
    * Resolves the {@link EnableJdbcContainer} annotation from the test class.
    *
@@ -52,6 +65,11 @@ public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJd
    */
   @Override
   protected EnableJdbcContainer getResolvedAnnotation(Class<?> testClass) {
+    return resolvedAnnotations.get(testClass).orElse(null);
+  }
+
+  /** Resolves the {@link EnableJdbcContainer} configuration of a test class without caching. */
+  private static Optional<EnableJdbcContainer> resolveAnnotation(Class<?> testClass) {
     if (testClass.isAnnotationPresent(EnableJdbcContainer.class)) {
       throw new IllegalStateException(
           """
@@ -66,11 +84,11 @@ public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJd
       if (jdbcAnnotation != null) {
         EnableJdbcContainer meta =
             jdbcAnnotation.annotationType().getAnnotation(EnableJdbcContainer.class);
-        return buildResolvedJdbcConfig(jdbcAnnotation, meta);
+        return Optional.of(buildResolvedJdbcConfig(jdbcAnnotation, meta));
       }
     }
 
-    return null;
+    return Optional.empty();
   }
 
   /**
@@ -87,9 +105,7 @@ public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJd
   protected SpringAwareContainerProvider<EnableJdbcContainer, ? extends GenericContainer<?>>
       initProvider(EnableJdbcContainer enableJdbcContainer) {
     return ServiceLoaderContainerFactory.getProvider(
-        enableJdbcContainer,
-        p -> p.getContainerType() == enableJdbcContainer.rdbms(),
-        (prov, ann) -> prov.initContainerInstance(ann));
+        enableJdbcContainer.rdbms(), enableJdbcContainer);
   }
 
   /**
@@ -104,7 +120,7 @@ public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJd
    * @param visited a set of already visited annotation types to prevent infinite recursion
    * @return the found annotation that is meta-annotated with the target, or null if none is found
    */
-  private Annotation findNearestAnnotationWith(
+  private static Annotation findNearestAnnotationWith(
       Annotation candidate, Class<? extends Annotation> target, Set<Class<?>> visited) {
     Class<? extends Annotation> candidateType = candidate.annotationType();
     if (!visited.add(candidateType)) return null;
@@ -132,52 +148,26 @@ public class JdbcContainerExtension extends ContainerLifecycleExtension<EnableJd
    * {@code @EnablePostgreSQL} or {@code @EnableMySQL}) and combines them with the meta-annotation
    * information to create a complete {@link EnableJdbcContainer} configuration.
    *
-   * <p>The method uses reflection to extract the 'version' and 'dockerImage' attributes from the
-   * source annotation and combines them with the database type from the meta-annotation.
+   * <p>Every attribute of {@link EnableJdbcContainer} declared by the source annotation is taken
+   * from it, while the database type and all other attributes come from the meta-annotation. The
+   * result is a synthesized annotation with value-based equality, so it can be used as part of the
+   * configuration signature of the container.
    *
    * @param sourceAnnotation the database-specific annotation from the test class
    * @param meta the {@link EnableJdbcContainer} meta-annotation from the database-specific
    *     annotation
    * @return a resolved {@link EnableJdbcContainer} configuration
-   * @throws IllegalStateException if the required attributes cannot be extracted from the source
-   *     annotation
    */
-  private EnableJdbcContainer buildResolvedJdbcConfig(
+  private static EnableJdbcContainer buildResolvedJdbcConfig(
       Annotation sourceAnnotation, EnableJdbcContainer meta) {
-    try {
-      Method versionMethod = sourceAnnotation.annotationType().getMethod("version");
-      Method imageMethod = sourceAnnotation.annotationType().getMethod("dockerImage");
-
-      String version = (String) versionMethod.invoke(sourceAnnotation);
-      String dockerImage = (String) imageMethod.invoke(sourceAnnotation);
-
-      return new EnableJdbcContainer() {
-        @Override
-        public ContainerType rdbms() {
-          return meta.rdbms();
-        }
-
-        @Override
-        public String version() {
-          return version;
-        }
-
-        @Override
-        public String dockerImage() {
-          return dockerImage;
-        }
-
-        @Override
-        public Class<? extends Annotation> annotationType() {
-          return EnableJdbcContainer.class;
-        }
-      };
-
-    } catch (ReflectiveOperationException e) {
-      throw new IllegalStateException(
-          "Failed to extract JDBC container config from annotation: "
-              + sourceAnnotation.annotationType().getName(),
-          e);
+    AnnotationMetadata sourceMetadata = AnnotationMetadata.of(sourceAnnotation.annotationType());
+    Map<String, Object> attributes =
+        new LinkedHashMap<>(AnnotationUtils.getAnnotationAttributes(meta, false, true));
+    for (String name : attributes.keySet()) {
+      if (!name.equals("rdbms") && sourceMetadata.hasAttribute(name)) {
+        attributes.put(name, sourceMetadata.getValue(sourceAnnotation, name));
+      }
     }
+    return AnnotationUtils.synthesizeAnnotation(attributes, EnableJdbcContainer.class, null);
   }
 }
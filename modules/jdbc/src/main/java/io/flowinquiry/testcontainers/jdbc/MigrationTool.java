@@ -0,0 +1,21 @@
+package io.flowinquiry.testcontainers.jdbc;
+
+/**
+ * Schema migration tool run once against a database container, so that application contexts start
+ * from the migrated schema.
+ *
+ * @see EnableJdbcContainer#migrations()
+ */
+public enum MigrationTool {
+  /** No migrations are run by the container provider. */
+  NONE,
+
+  /** Flyway, whose locations default to {@code classpath:db/migration}. */
+  FLYWAY,
+
+  /**
+   * Liquibase, whose change log defaults to {@code
+   * classpath:db/changelog/db.changelog-master.yaml}.
+   */
+  LIQUIBASE
+}
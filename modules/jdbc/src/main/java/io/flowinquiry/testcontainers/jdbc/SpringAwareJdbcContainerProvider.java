@@ -1,12 +1,37 @@
 package io.flowinquiry.testcontainers.jdbc;
 
+import io.flowinquiry.testcontainers.ContainerIsolation;
+import io.flowinquiry.testcontainers.ContainerPhase;
+import io.flowinquiry.testcontainers.ContainerSettings;
+import io.flowinquiry.testcontainers.ReadinessProbe;
 import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.PropertiesPropertySource;
 import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.ext.ScriptUtils;
+import org.testcontainers.jdbc.JdbcDatabaseDelegate;
 
 /**
  * Abstract base class for JDBC database container providers that integrate with Spring.
@@ -19,6 +44,29 @@ import org.testcontainers.containers.JdbcDatabaseContainer;
  * environment with the appropriate datasource URL, username, and password properties from the
  * container.
  *
+ * <p>The {@link EnableJdbcContainer#initScripts() init scripts} are run once the container has
+ * started. In snapshot mode, their content is part of the snapshot tag, so that the database state
+ * they create is restored from the snapshot instead of being rebuilt.
+ *
+ * <p>If the container annotation declares {@link EnableJdbcContainer#migrations() migrations}, they
+ * are run right after the init scripts, as the {@link ContainerPhase#MIGRATE} phase, and the hash
+ * of their resources is part of the snapshot tag as well. Such containers run in snapshot mode
+ * unless {@value #SNAPSHOT_ENABLED} is set to false, so that migrations run once per migration hash
+ * and later containers, including the ones of later test runs, start from the migrated snapshot.
+ *
+ * <p>Database types able to {@link #supportsCloning() clone databases} support the {@link
+ * EnableJdbcContainer#isolation() isolation} of tests: once the container is initialized, its
+ * database is copied to the template database {@value #TEMPLATE_DATABASE}, and every isolation unit
+ * gets a clone of it. In snapshot mode the template is always created, so that the snapshot serves
+ * isolated and non-isolated test classes alike. The number of clones given by {@value
+ * #CLONE_POOL_SIZE} (2 by default) is created ahead of use in the background, so that tests do not
+ * wait for them. Clones are dropped in the background too, once released.
+ *
+ * <p>When the container is shared between test JVMs, every JVM gets its own database. It is a clone
+ * of the template database as well, so that every JVM sees the data of the init scripts and
+ * migrations. Database types that can not clone databases get an empty database instead, created
+ * with the {@link #getIsolationStatements(String, String) isolation statements}.
+ *
  * <p>Concrete implementations of this class should provide specific container creation logic for
  * different database types (e.g., PostgreSQL, MySQL).
  *
@@ -26,14 +74,559 @@ import org.testcontainers.containers.JdbcDatabaseContainer;
  * @see JdbcDatabaseContainer
  * @see EnableJdbcContainer
  */
-public abstract class SpringAwareJdbcContainerProvider<T extends JdbcDatabaseContainer<T>>
+public abstract class SpringAwareJdbcContainerProvider<T extends JdbcDatabaseContainer<?>>
     extends SpringAwareContainerProvider<EnableJdbcContainer, T> {
 
+  /** Configuration parameter setting the number of database clones created ahead of use. */
+  public static final String CLONE_POOL_SIZE =
+      "flowinquiry.testcontainers.isolation.clone-pool-size";
+
+  /** Name of the template database that isolated databases are cloned from. */
+  protected static final String TEMPLATE_DATABASE = "testcontainers_template";
+
   private static final Logger log = LoggerFactory.getLogger(SpringAwareJdbcContainerProvider.class);
 
+  /** Matches the database name in the path of a JDBC URL. */
+  private static final Pattern DATABASE_IN_URL = Pattern.compile("^(jdbc:[^/]+//[^/]+/)([^?;]*)");
+
+  /** Clones of the template database created ahead of use. */
+  private final BlockingQueue<String> readyClones = new LinkedBlockingQueue<>();
+
+  private final AtomicInteger cloneCount = new AtomicInteger();
+
+  /** Executor creating and dropping clones in the background, created on first use. */
+  private ExecutorService cloneExecutor;
+
   /** Default constructor. */
   public SpringAwareJdbcContainerProvider() {}
 
+  /**
+   * Runs the init scripts and migrations declared on the container annotation, and creates the
+   * template database if tests are isolated or the container is shared between test JVMs.
+   *
+   * @throws IllegalStateException if a script or migration can not be executed or the template can
+   *     not be created
+   */
+  @Override
+  protected void initializeContainer() {
+    for (String script : enableContainerAnnotation.initScripts()) {
+      log.info("Running init script {}", script);
+      ScriptUtils.runInitScript(new JdbcDatabaseDelegate(container, ""), script);
+    }
+    MigrationTool migrations = enableContainerAnnotation.migrations();
+    if (migrations != MigrationTool.NONE) {
+      String[] locations =
+          DatabaseMigrations.locations(migrations, enableContainerAnnotation.migrationLocations());
+      log.info("Running {} migrations from {}", migrations, String.join(", ", locations));
+      timed(
+          ContainerPhase.MIGRATE,
+          () ->
+              DatabaseMigrations.migrate(
+                  migrations,
+                  locations,
+                  container.getJdbcUrl(),
+                  container.getUsername(),
+                  container.getPassword()));
+    }
+    if (isTemplateEnabled()) {
+      log.info("Creating template database {}", TEMPLATE_DATABASE);
+      try {
+        execute(
+            containerProperties(),
+            statement -> createTemplate(statement, TEMPLATE_DATABASE, container.getDatabaseName()));
+      } catch (SQLException e) {
+        throw new IllegalStateException(
+            "Failed to create template database " + TEMPLATE_DATABASE, e);
+      }
+    }
+  }
+
+  /**
+   * Starts the container, then starts cloning the template database in the background if tests are
+   * isolated.
+   */
+  @Override
+  public void start() {
+    super.start();
+    if (isCloningEnabled()) {
+      cloneExecutor(containerProperties());
+    }
+  }
+
+  /** Stops the container, discarding the clones created ahead of use. */
+  @Override
+  public void stop() {
+    synchronized (this) {
+      if (cloneExecutor != null) {
+        cloneExecutor.shutdownNow();
+        cloneExecutor = null;
+      }
+    }
+    readyClones.clear();
+    super.stop();
+  }
+
+  /**
+   * Returns a probe opening a connection to the database and checking it with {@link
+   * Connection#isValid(int)}. Connections are opened directly through the JDBC driver, without the
+   * rate-limited retries of {@link JdbcDatabaseContainer#createConnection(String)}.
+   *
+   * @return the JDBC readiness probe
+   */
+  @Override
+  protected ReadinessProbe getReadinessProbe() {
+    return () -> {
+      Properties info = new Properties();
+      info.put("user", container.getUsername());
+      info.put("password", container.getPassword());
+      try (Connection connection =
+          container.getJdbcDriverInstance().connect(container.getJdbcUrl(), info)) {
+        return connection != null && connection.isValid(1);
+      }
+    };
+  }
+
+  /**
+   * Returns whether this provider supports snapshot mode, which is the case for all JDBC providers.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean supportsSnapshot() {
+    return true;
+  }
+
+  /**
+   * Executes the {@link #getSnapshotStatements() snapshot statements}, so that the commits of the
+   * initialization, including the creation of the template database, are on disk when the container
+   * is committed.
+   *
+   * @throws IllegalStateException if a statement can not be executed
+   */
+  @Override
+  protected void prepareSnapshot() {
+    List<String> statements = getSnapshotStatements();
+    if (statements.isEmpty()) return;
+
+    log.info("Flushing the database to disk before the snapshot");
+    try {
+      execute(containerProperties(), statements);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to flush the database before the snapshot", e);
+    }
+  }
+
+  /**
+   * Returns whether the container annotation declares migrations, which then run once per migration
+   * hash in snapshot mode rather than in every container.
+   *
+   * @return true if migrations are declared
+   */
+  @Override
+  protected boolean isSnapshotByDefault() {
+    return enableContainerAnnotation.migrations() != MigrationTool.NONE;
+  }
+
+  /**
+   * Returns the content of the init scripts and the hash of the migration resources, so that
+   * changing a script or a migration invalidates the snapshot.
+   *
+   * @return the content of every init script, in execution order, followed by the migration hash
+   * @throws IllegalArgumentException if a script can not be read
+   */
+  @Override
+  protected List<String> getSnapshotInputs() {
+    List<String> inputs = new ArrayList<>();
+    for (String script : enableContainerAnnotation.initScripts()) {
+      try (InputStream content =
+          Thread.currentThread().getContextClassLoader().getResourceAsStream(script)) {
+        if (content == null) {
+          throw new IllegalArgumentException("Init script " + script + " not found on classpath");
+        }
+        inputs.add(script + "\n" + new String(content.readAllBytes(), StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Can not read init script " + script, e);
+      }
+    }
+    MigrationTool migrations = enableContainerAnnotation.migrations();
+    if (migrations != MigrationTool.NONE) {
+      inputs.add(
+          migrations
+              + " migrations "
+              + DatabaseMigrations.hash(
+                  migrations,
+                  DatabaseMigrations.locations(
+                      migrations, enableContainerAnnotation.migrationLocations())));
+    }
+    return inputs;
+  }
+
+  /**
+   * Creates a database dedicated to a test JVM sharing the container with others, or to an
+   * isolation unit, and points the datasource URL at it.
+   *
+   * <p>If the database type can clone databases, the database is a clone of the template database,
+   * taken from the clones created ahead of use if tests are isolated. Otherwise, it is an empty
+   * database created with the isolation statements, and the properties are returned unchanged if
+   * the database type has none.
+   *
+   * @param properties the properties applied by the provider that started the container
+   * @param namespace a name unique to the calling JVM or isolation unit, used as database name if
+   *     the database is not a clone
+   * @return the datasource properties of the dedicated database
+   * @throws IllegalStateException if the database can not be created
+   */
+  @Override
+  protected Map<String, String> isolate(Map<String, String> properties, String namespace) {
+    String database;
+    if (isCloningEnabled()) {
+      database = takeClone(properties);
+    } else if (isTemplateEnabled()) {
+      database = newClone(properties);
+    } else {
+      String username = properties.get("spring.datasource.username");
+      List<String> statements = getIsolationStatements(namespace, username);
+      if (statements.isEmpty()) return properties;
+
+      try {
+        execute(properties, statements);
+      } catch (SQLException e) {
+        throw new IllegalStateException("Failed to create isolated database " + namespace, e);
+      }
+      database = namespace;
+    }
+
+    Map<String, String> isolated = new HashMap<>(properties);
+    isolated.put(
+        "spring.datasource.url",
+        DATABASE_IN_URL
+            .matcher(properties.get("spring.datasource.url"))
+            .replaceFirst("$1" + Matcher.quoteReplacement(database)));
+    log.info("Using isolated database {} of the shared container", database);
+    return isolated;
+  }
+
+  /**
+   * Drops the clone of the template database used by an isolation unit, in the background. Does
+   * nothing if the database is not a clone.
+   *
+   * @param properties the datasource properties of the clone
+   */
+  @Override
+  protected void releaseIsolated(Map<String, String> properties) {
+    if (!isCloningEnabled()) return;
+
+    Matcher matcher = DATABASE_IN_URL.matcher(properties.get("spring.datasource.url"));
+    if (!matcher.find()) return;
+    String database = matcher.group(2);
+    try {
+      cloneExecutor(properties)
+          .execute(
+              () -> {
+                try {
+                  execute(properties, getDropStatements(database));
+                  log.debug("Dropped isolated database {}", database);
+                } catch (SQLException e) {
+                  log.debug("Failed to drop isolated database {}", database, e);
+                }
+              });
+    } catch (RuntimeException e) {
+      log.debug("Can not drop isolated database {} any more", database, e);
+    }
+  }
+
+  /**
+   * Returns whether the container runs with the {@link DatabaseProfile#FAST fast profile}, which
+   * keeps the data directory on tmpfs, unless in snapshot mode.
+   *
+   * @return true if the container annotation selects the fast profile
+   */
+  @Override
+  protected boolean isDataOnTmpfs() {
+    return getProfile() == DatabaseProfile.FAST;
+  }
+
+  /**
+   * Returns the configuration profile of the database server.
+   *
+   * @return the profile declared on the container annotation
+   */
+  protected final DatabaseProfile getProfile() {
+    return enableContainerAnnotation.profile();
+  }
+
+  /**
+   * Returns the memory limit of the container, which the fast profile sizes caches to.
+   *
+   * @return the memory limit in megabytes, or 0 if the container has none
+   */
+  protected final long getMemoryLimitMb() {
+    return enableContainerAnnotation.memoryMb();
+  }
+
+  /**
+   * Returns whether this database type can clone databases, which enables the isolation of tests.
+   * Returns false by default.
+   *
+   * @return true if the database type creates templates and clones, and drops clones
+   */
+  protected boolean supportsCloning() {
+    return false;
+  }
+
+  /**
+   * Returns the SQL statements copying the initialized database to the template database, replacing
+   * any previous template. Returns no statements by default.
+   *
+   * @param template the name of the template database
+   * @param database the name of the initialized database
+   * @return the statements to execute
+   */
+  protected List<String> getTemplateStatements(String template, String database) {
+    return List.of();
+  }
+
+  /**
+   * Copies the initialized database to the template database, replacing any previous template.
+   * Executes the {@link #getTemplateStatements(String, String) template statements} by default.
+   *
+   * @param statement a statement of a connection to the admin database, as the isolation user
+   * @param template the name of the template database
+   * @param database the name of the initialized database
+   * @throws SQLException if the template can not be created
+   */
+  protected void createTemplate(Statement statement, String template, String database)
+      throws SQLException {
+    for (String sql : getTemplateStatements(template, database)) {
+      statement.execute(sql);
+    }
+  }
+
+  /**
+   * Creates a clone of the template database. Executes the {@link #getCloneStatements(String,
+   * String, String) clone statements} by default.
+   *
+   * @param statement a statement of a connection to the admin database, as the isolation user
+   * @param clone the name of the database to create
+   * @param template the name of the template database
+   * @param username the user the tests connect with, which must be granted access to the clone
+   * @throws SQLException if the clone can not be created
+   */
+  protected void createClone(Statement statement, String clone, String template, String username)
+      throws SQLException {
+    for (String sql : getCloneStatements(clone, template, username)) {
+      statement.execute(sql);
+    }
+  }
+
+  /**
+   * Returns the SQL statements creating a clone of the template database. Returns no statements by
+   * default.
+   *
+   * @param clone the name of the database to create
+   * @param template the name of the template database
+   * @param username the user the tests connect with, which must be granted access to the clone
+   * @return the statements to execute
+   */
+  protected List<String> getCloneStatements(String clone, String template, String username) {
+    return List.of();
+  }
+
+  /**
+   * Returns the SQL statements dropping a clone of the template database, even if it is still in
+   * use. Returns no statements by default.
+   *
+   * @param clone the name of the database to drop
+   * @return the statements to execute
+   */
+  protected List<String> getDropStatements(String clone) {
+    return List.of();
+  }
+
+  /**
+   * Returns the SQL statements writing the committed data held in server memory to disk before the
+   * container is committed to a snapshot image. They matter most with {@link DatabaseProfile#FAST},
+   * whose commits do not wait for the disk. Returns no statements by default.
+   *
+   * @return the statements to execute
+   */
+  protected List<String> getSnapshotStatements() {
+    return List.of();
+  }
+
+  /**
+   * Returns the database to connect to when executing the isolation, template, clone and drop
+   * statements. Returns null by default, to connect to the database of the datasource properties.
+   *
+   * @return the name of the database to connect to, or null
+   */
+  protected String getAdminDatabase() {
+    return null;
+  }
+
+  /**
+   * Returns the SQL statements creating an empty database dedicated to one test JVM, replacing any
+   * previous database of the same name. Returns no statements by default, in which case all JVMs
+   * share the default database.
+   *
+   * @param database the name of the database to create
+   * @param username the user the tests connect with, which must be granted access to the database
+   * @return the statements to execute
+   */
+  protected List<String> getIsolationStatements(String database, String username) {
+    return List.of();
+  }
+
+  /**
+   * Returns the user executing the {@link #getIsolationStatements(String, String) isolation
+   * statements}. Returns the user the tests connect with by default.
+   *
+   * @param username the user the tests connect with
+   * @return the user allowed to create databases
+   */
+  protected String getIsolationUsername(String username) {
+    return username;
+  }
+
+  /** Returns whether tests are isolated in clones of the template database. */
+  private boolean isCloningEnabled() {
+    return enableContainerAnnotation.isolation() != ContainerIsolation.NONE && supportsCloning();
+  }
+
+  /**
+   * Returns whether the initialized database is copied to the template database, for isolated tests
+   * or for the databases of the test JVMs sharing the container. Snapshots always contain it, as
+   * they are shared by test classes regardless of their isolation.
+   */
+  private boolean isTemplateEnabled() {
+    return supportsCloning()
+        && (enableContainerAnnotation.isolation() != ContainerIsolation.NONE
+            || isForkShared()
+            || isSnapshotMode());
+  }
+
+  /** Takes a clone created ahead of use, or creates one if none is ready, and replaces it. */
+  private String takeClone(Map<String, String> properties) {
+    ExecutorService executor = cloneExecutor(properties);
+    String clone = readyClones.poll();
+    if (clone == null) {
+      clone = newClone(properties);
+    }
+    executor.execute(() -> prepareClone(properties));
+    return clone;
+  }
+
+  /** Creates a clone in the background, for the next isolation unit. */
+  private void prepareClone(Map<String, String> properties) {
+    try {
+      readyClones.add(newClone(properties));
+    } catch (RuntimeException e) {
+      log.warn("Failed to create a database clone ahead of use", e);
+    }
+  }
+
+  private String newClone(Map<String, String> properties) {
+    String clone = "clone_" + ProcessHandle.current().pid() + "_" + cloneCount.incrementAndGet();
+    long startTime = System.nanoTime();
+    try {
+      execute(
+          properties,
+          statement ->
+              createClone(
+                  statement,
+                  clone,
+                  TEMPLATE_DATABASE,
+                  properties.get("spring.datasource.username")));
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to clone template database to " + clone, e);
+    }
+    log.debug(
+        "Cloned template database to {} in {} ms",
+        clone,
+        (System.nanoTime() - startTime) / 1_000_000);
+    return clone;
+  }
+
+  /**
+   * Returns the executor cloning the template database, creating it and the first clones ahead of
+   * use on first call.
+   */
+  private synchronized ExecutorService cloneExecutor(Map<String, String> properties) {
+    if (cloneExecutor == null) {
+      cloneExecutor =
+          Executors.newSingleThreadExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "spring-testcontainers-clone");
+                thread.setDaemon(true);
+                return thread;
+              });
+      int poolSize =
+          ContainerSettings.get(CLONE_POOL_SIZE).map(String::trim).map(Integer::parseInt).orElse(2);
+      for (int i = 0; i < poolSize; i++) {
+        cloneExecutor.execute(() -> prepareClone(properties));
+      }
+    }
+    return cloneExecutor;
+  }
+
+  /** Returns the datasource properties of the started container. */
+  private Map<String, String> containerProperties() {
+    return Map.of(
+        "spring.datasource.url", container.getJdbcUrl(),
+        "spring.datasource.username", container.getUsername(),
+        "spring.datasource.password", container.getPassword());
+  }
+
+  /** Executes statements on the admin database of the container. */
+  private void execute(Map<String, String> properties, List<String> statements)
+      throws SQLException {
+    execute(
+        properties,
+        statement -> {
+          for (String sql : statements) {
+            statement.execute(sql);
+          }
+        });
+  }
+
+  /**
+   * Runs an action with a statement of a connection to the {@link #getAdminDatabase() admin
+   * database} of the container, as the {@link #getIsolationUsername(String) isolation user}.
+   */
+  private void execute(Map<String, String> properties, StatementAction action) throws SQLException {
+    String url = properties.get("spring.datasource.url");
+    String adminDatabase = getAdminDatabase();
+    if (adminDatabase != null) {
+      url =
+          DATABASE_IN_URL.matcher(url).replaceFirst("$1" + Matcher.quoteReplacement(adminDatabase));
+    }
+    try (Connection connection =
+            DriverManager.getConnection(
+                url,
+                getIsolationUsername(properties.get("spring.datasource.username")),
+                properties.get("spring.datasource.password"));
+        Statement statement = connection.createStatement()) {
+      action.run(statement);
+    }
+  }
+
+  /** Action run with a JDBC statement. */
+  @FunctionalInterface
+  private interface StatementAction {
+    void run(Statement statement) throws SQLException;
+  }
+
+  /**
+   * Returns the names of the datasource properties set by this provider.
+   *
+   * @return the datasource URL, username and password property names
+   */
+  @Override
+  public Set<String> getPropertyNames() {
+    return Set.of(
+        "spring.datasource.url", "spring.datasource.username", "spring.datasource.password");
+  }
+
   /**
    * Applies JDBC container configuration to the Spring environment.
    *
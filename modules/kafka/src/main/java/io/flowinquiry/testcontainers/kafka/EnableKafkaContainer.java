@@ -42,4 +42,52 @@ public @interface EnableKafkaContainer {
    * @return the Docker image name, defaults to "apache/kafka"
    */
   String dockerImage() default "apache/kafka";
+
+  /**
+   * Specifies whether the container is started lazily.
+   *
+   * <p>A lazy container is not started before the test class runs, but when the Spring environment
+   * first resolves one of its connection properties, such as {@code
+   * spring.kafka.bootstrap-servers}. Test classes whose application context never resolves these
+   * properties never start the container.
+   *
+   * @return true to start the container on first use, defaults to false
+   */
+  boolean lazy() default false;
+
+  /**
+   * Specifies the number of CPUs the container may use, such as {@code 1.5}.
+   *
+   * @return the CPU limit, defaults to 0 for no limit
+   */
+  double cpus() default 0;
+
+  /**
+   * Specifies the memory limit of the container in megabytes.
+   *
+   * @return the memory limit, defaults to 0 for no limit
+   */
+  long memoryMb() default 0;
+
+  /**
+   * Specifies the size of {@code /dev/shm} in the container in megabytes.
+   *
+   * @return the shared memory size, defaults to 0 for the Docker default
+   */
+  long shmSizeMb() default 0;
+
+  /**
+   * Specifies paths in the container to mount as tmpfs, keeping their content in memory.
+   *
+   * @return the tmpfs mount paths, none by default
+   */
+  String[] tmpfs() default {};
+
+  /**
+   * Specifies whether the data directory of the Kafka broker is mounted as tmpfs, avoiding disk
+   * I/O. It is ignored in snapshot mode, as the content of tmpfs mounts is not part of snapshots.
+   *
+   * @return true to keep the data in memory, defaults to false
+   */
+  boolean dataOnTmpfs() default false;
 }
@@ -40,9 +40,6 @@ public class KafkaContainerExtension extends ContainerLifecycleExtension<EnableK
   @Override
   protected SpringAwareContainerProvider<EnableKafkaContainer, ? extends GenericContainer<?>>
       initProvider(EnableKafkaContainer annotation) {
-    return getProvider(
-        annotation,
-        p -> p.getContainerType() == KAFKA,
-        (prov, ann) -> prov.initContainerInstance(ann));
+    return getProvider(KAFKA, annotation);
   }
 }
@@ -3,8 +3,13 @@ package io.flowinquiry.testcontainers.kafka;
 import static io.flowinquiry.testcontainers.ContainerType.KAFKA;
 
 import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ProvidesContainer;
+import io.flowinquiry.testcontainers.ReadinessProbe;
 import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.PropertiesPropertySource;
 import org.testcontainers.kafka.KafkaContainer;
@@ -18,9 +23,16 @@ import org.testcontainers.kafka.KafkaContainer;
  * the {@link KafkaContainerExtension} when a test class is annotated with {@link
  * EnableKafkaContainer}.
  */
+@ProvidesContainer(KAFKA)
 public class KafkaContainerProvider
     extends SpringAwareContainerProvider<EnableKafkaContainer, KafkaContainer> {
 
+  /**
+   * Property holding the prefix that tests should give their topic names. It is empty unless the
+   * container is shared between test JVMs, in which case every JVM gets its own prefix.
+   */
+  public static final String TOPIC_PREFIX = "flowinquiry.testcontainers.kafka.topic-prefix";
+
   /**
    * Creates and configures a Kafka container instance. The container is configured with the Docker
    * image and version specified in the {@link EnableKafkaContainer} annotation.
@@ -29,7 +41,7 @@ public class KafkaContainerProvider
    */
   @Override
   protected KafkaContainer createContainer() {
-    return new KafkaContainer(dockerImage + ":" + version);
+    return new KafkaContainer(dockerImageName());
   }
 
   /**
@@ -42,6 +54,53 @@ public class KafkaContainerProvider
     return KAFKA;
   }
 
+  /**
+   * Returns the log directory of the broker, as configured by the Kafka images.
+   *
+   * @return the directory holding the topic partitions
+   */
+  @Override
+  protected String getDataDirectory() {
+    return "/tmp/kraft-combined-logs";
+  }
+
+  /**
+   * Returns the names of the Kafka properties set by this provider.
+   *
+   * @return the bootstrap servers and topic prefix property names
+   */
+  @Override
+  public Set<String> getPropertyNames() {
+    return Set.of("spring.kafka.bootstrap-servers", TOPIC_PREFIX);
+  }
+
+  /**
+   * Returns a probe asking the broker for the cluster nodes with the Kafka admin client, if {@code
+   * kafka-clients} is on the classpath. Otherwise the default wait strategy of the container is
+   * kept.
+   *
+   * @return the Kafka readiness probe, or null if the admin client is not available
+   */
+  @Override
+  protected ReadinessProbe getReadinessProbe() {
+    return KafkaReadinessProbe.isAvailable() ? new KafkaReadinessProbe(container) : null;
+  }
+
+  /**
+   * Isolates the topics of a test JVM sharing the broker with others by giving it its own {@link
+   * #TOPIC_PREFIX topic prefix}.
+   *
+   * @param properties the properties applied by the provider that started the container
+   * @param namespace a name unique to the calling JVM
+   * @return the properties with the topic prefix of the calling JVM
+   */
+  @Override
+  protected Map<String, String> isolate(Map<String, String> properties, String namespace) {
+    Map<String, String> isolated = new HashMap<>(properties);
+    isolated.put(TOPIC_PREFIX, namespace + ".");
+    return isolated;
+  }
+
   /**
    * Applies Kafka-specific configuration to the Spring environment. This method sets the bootstrap
    * servers property in the Spring environment, allowing Spring Kafka clients to automatically
@@ -53,6 +112,7 @@ public class KafkaContainerProvider
   public void applyTo(ConfigurableEnvironment environment) {
     Properties props = new Properties();
     props.put("spring.kafka.bootstrap-servers", container.getBootstrapServers());
+    props.put(TOPIC_PREFIX, "");
 
     environment
         .getPropertySources()
@@ -0,0 +1,79 @@
+package io.flowinquiry.testcontainers.kafka;
+
+import io.flowinquiry.testcontainers.ReadinessProbe;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.testcontainers.kafka.KafkaContainer;
+
+/**
+ * Readiness probe of Kafka containers, asking the broker for the cluster nodes.
+ *
+ * <p>One admin client is created on the first attempt and reused by the following ones, then closed
+ * with the probe once the broker is ready.
+ *
+ * <p>The Kafka admin client is an optional dependency, so this class is only loaded after {@link
+ * #isAvailable()} has confirmed that it is on the classpath.
+ */
+final class KafkaReadinessProbe implements ReadinessProbe {
+
+  private static final int TIMEOUT_MILLIS = 1000;
+
+  private final KafkaContainer container;
+
+  /** The admin client of the probe, created on the first attempt. */
+  private Admin admin;
+
+  /**
+   * Creates a readiness probe for the given container.
+   *
+   * @param container the Kafka container
+   */
+  KafkaReadinessProbe(KafkaContainer container) {
+    this.container = container;
+  }
+
+  /**
+   * Checks whether the Kafka admin client is on the classpath.
+   *
+   * @return true if the probe can be used
+   */
+  static boolean isAvailable() {
+    try {
+      Class.forName(
+          "org.apache.kafka.clients.admin.Admin",
+          false,
+          KafkaReadinessProbe.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public boolean isReady() throws Exception {
+    if (admin == null) {
+      admin =
+          Admin.create(
+              Map.of(
+                  AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                  container.getBootstrapServers(),
+                  AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG,
+                  TIMEOUT_MILLIS,
+                  AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG,
+                  TIMEOUT_MILLIS));
+    }
+    return !admin.describeCluster().nodes().get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).isEmpty();
+  }
+
+  /** Closes the admin client, without waiting for pending requests. */
+  @Override
+  public void close() {
+    if (admin != null) {
+      admin.close(Duration.ZERO);
+      admin = null;
+    }
+  }
+}
@@ -4,8 +4,11 @@ import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.TYPE;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
+import io.flowinquiry.testcontainers.ContainerIsolation;
 import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.jdbc.DatabaseProfile;
 import io.flowinquiry.testcontainers.jdbc.EnableJdbcContainer;
+import io.flowinquiry.testcontainers.jdbc.MigrationTool;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
@@ -34,4 +37,114 @@ public @interface EnableMySQL {
    * @return the MySQL Docker image name (without version)
    */
   String dockerImage() default "mysql";
+
+  /**
+   * Specifies whether the container is started lazily.
+   *
+   * <p>A lazy container is not started before the test class runs, but when the Spring environment
+   * first resolves one of its connection properties, such as {@code spring.datasource.url}. Test
+   * classes whose application context never resolves these properties never start the container.
+   *
+   * @return true to start the container on first use, defaults to false
+   */
+  boolean lazy() default false;
+
+  /**
+   * Specifies SQL scripts to run once the database container has started, as classpath resource
+   * paths. The scripts are executed in the given order.
+   *
+   * <p>In snapshot mode, the content of the scripts is part of the snapshot tag: the container is
+   * committed after the scripts have run, and changing a script creates a new snapshot.
+   *
+   * @return the classpath paths of the init scripts, none by default
+   */
+  String[] initScripts() default {};
+
+  /**
+   * Specifies the number of CPUs the container may use, such as {@code 1.5}.
+   *
+   * @return the CPU limit, defaults to 0 for no limit
+   */
+  double cpus() default 0;
+
+  /**
+   * Specifies the memory limit of the container in megabytes.
+   *
+   * @return the memory limit, defaults to 0 for no limit
+   */
+  long memoryMb() default 0;
+
+  /**
+   * Specifies the size of {@code /dev/shm} in the container in megabytes.
+   *
+   * @return the shared memory size, defaults to 0 for the Docker default
+   */
+  long shmSizeMb() default 0;
+
+  /**
+   * Specifies paths in the container to mount as tmpfs, keeping their content in memory.
+   *
+   * @return the tmpfs mount paths, none by default
+   */
+  String[] tmpfs() default {};
+
+  /**
+   * Specifies whether the data directory of the MySQL server is mounted as tmpfs, avoiding disk
+   * I/O. It is ignored in snapshot mode, as the content of tmpfs mounts is not part of snapshots.
+   *
+   * @return true to keep the data in memory, defaults to false
+   */
+  boolean dataOnTmpfs() default false;
+
+  /**
+   * Specifies whether tests get a schema of their own, per test class or per test method.
+   *
+   * <p>Once the {@link #initScripts() init scripts} have run, the tables of the initialized schema
+   * and their rows are copied to a golden schema. Every isolation unit then gets a copy of the
+   * golden schema, and {@code spring.datasource.url} points at it. Copies are created ahead of use
+   * in the background, and dropped when the application context using them is closed. Views,
+   * routines and triggers are not copied.
+   *
+   * <p>Every isolation unit gets its own application context. With {@link
+   * ContainerIsolation#PER_METHOD}, the context is closed after every test method.
+   *
+   * @return the isolation scope, defaults to {@link ContainerIsolation#NONE}
+   */
+  ContainerIsolation isolation() default ContainerIsolation.NONE;
+
+  /**
+   * Specifies the configuration profile of the MySQL server.
+   *
+   * <p>With {@link DatabaseProfile#FAST}, the server runs with {@code
+   * innodb_flush_log_at_trx_commit=0}, {@code sync_binlog=0}, {@code skip-log-bin} and {@code
+   * innodb_doublewrite=OFF}, and its data directory is mounted as tmpfs, as with {@link
+   * #dataOnTmpfs()}. If {@link #memoryMb()} is set, {@code innodb_buffer_pool_size} is sized to
+   * half of it.
+   *
+   * @return the configuration profile, defaults to {@link DatabaseProfile#DEFAULT}
+   */
+  DatabaseProfile profile() default DatabaseProfile.DEFAULT;
+
+  /**
+   * Specifies the schema migration tool run against the database once the {@link #initScripts()
+   * init scripts} have run, so that application contexts start from the migrated schema and their
+   * own Flyway or Liquibase run finds nothing left to apply. The tool must be on the test
+   * classpath.
+   *
+   * <p>In snapshot mode, the hash of the migration resources is part of the snapshot tag: the
+   * migrations run once per hash, and changing a migration creates a new snapshot. With {@link
+   * #isolation()}, every isolated database is cloned from the migrated state.
+   *
+   * @return the migration tool, defaults to {@link MigrationTool#NONE}
+   */
+  MigrationTool migrations() default MigrationTool.NONE;
+
+  /**
+   * Specifies the Flyway locations, or the Liquibase change log, of the {@link #migrations()
+   * migrations}. Defaults to {@code classpath:db/migration} for Flyway and {@code
+   * classpath:db/changelog/db.changelog-master.yaml} for Liquibase, as in Spring Boot.
+   *
+   * @return the migration locations, none by default
+   */
+  String[] migrationLocations() default {};
 }
@@ -3,11 +3,30 @@ package io.flowinquiry.testcontainers.jdbc.mysql;
 import static io.flowinquiry.testcontainers.ContainerType.MYSQL;
 
 import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ProvidesContainer;
+import io.flowinquiry.testcontainers.jdbc.DatabaseProfile;
 import io.flowinquiry.testcontainers.jdbc.SpringAwareJdbcContainerProvider;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
 
-public class MySqlContainerProvider extends SpringAwareJdbcContainerProvider {
+@ProvidesContainer(MYSQL)
+public class MySqlContainerProvider
+    extends SpringAwareJdbcContainerProvider<JdbcDatabaseContainer<?>> {
+
+  /**
+   * Data directory used in snapshot mode. The default one is a volume of the mysql image, whose
+   * content would be missing from a snapshot.
+   */
+  private static final String SNAPSHOT_DATA_DIRECTORY = "/var/lib/mysql-snapshot";
 
   @Override
   public ContainerType getContainerType() {
@@ -16,6 +35,184 @@ public class MySqlContainerProvider extends SpringAwareJdbcContainerProvider {
 
   @Override
   protected JdbcDatabaseContainer<?> createContainer() {
-    return new MySQLContainer<>(dockerImage + ":" + version);
+    MySQLContainer<?> mysql =
+        isReadinessProbeEnabled()
+            ? new ProbedMySQLContainer(dockerImageName())
+            : new MySQLContainer<>(dockerImageName());
+    List<String> command = new ArrayList<>();
+    if (isSnapshotMode()) {
+      command.add("--datadir=" + SNAPSHOT_DATA_DIRECTORY);
+    }
+    if (getProfile() == DatabaseProfile.FAST) {
+      command.addAll(fastProfileOptions(getMemoryLimitMb()));
+    }
+    if (!command.isEmpty()) {
+      mysql.withCommand(command.toArray(String[]::new));
+    }
+    return mysql;
+  }
+
+  /**
+   * Returns the server options of the fast profile. Durability is turned off: the redo log is
+   * neither flushed on commit nor the binary log synced, the binary log and the doublewrite buffer
+   * are disabled. With a memory limit, half of it goes to the InnoDB buffer pool.
+   */
+  private static List<String> fastProfileOptions(long memoryMb) {
+    List<String> options =
+        new ArrayList<>(
+            List.of(
+                "--innodb-flush-log-at-trx-commit=0",
+                "--sync-binlog=0",
+                "--skip-log-bin",
+                "--innodb-doublewrite=OFF"));
+    if (memoryMb > 0) {
+      options.add("--innodb-buffer-pool-size=" + Math.max(32, memoryMb / 2) + "M");
+    }
+    return options;
+  }
+
+  @Override
+  protected String getDataDirectory() {
+    return "/var/lib/mysql";
+  }
+
+  @Override
+  protected List<String> getIsolationStatements(String database, String username) {
+    return List.of(
+        "DROP DATABASE IF EXISTS " + database,
+        "CREATE DATABASE " + database,
+        "GRANT ALL PRIVILEGES ON " + database + ".* TO '" + username + "'@'%'");
+  }
+
+  @Override
+  protected boolean supportsCloning() {
+    return true;
+  }
+
+  /** Copies the tables of the initialized schema, with their rows, to the golden schema. */
+  @Override
+  protected void createTemplate(Statement statement, String template, String database)
+      throws SQLException {
+    copySchema(statement, database, template);
+  }
+
+  /** Copies the tables of the golden schema, with their rows, to a new schema. */
+  @Override
+  protected void createClone(Statement statement, String clone, String template, String username)
+      throws SQLException {
+    copySchema(statement, template, clone);
+    statement.execute("GRANT ALL PRIVILEGES ON `" + clone + "`.* TO '" + username + "'@'%'");
+  }
+
+  @Override
+  protected List<String> getDropStatements(String clone) {
+    return List.of("DROP DATABASE IF EXISTS `" + clone + "`");
+  }
+
+  /**
+   * Recreates a schema as a copy of another one, with the definitions of its tables, including
+   * their indexes, foreign keys and auto-increment counters, and their rows. Generated columns are
+   * computed again by the target tables, so they are left out of the copy. Columns with an
+   * expression default, such as {@code DEFAULT CURRENT_TIMESTAMP}, are copied like any other
+   * column, so that the copy keeps the values of the source. Foreign key checks are disabled
+   * meanwhile, so that tables can be created and filled in any order.
+   *
+   * <p>Views, routines and triggers are not copied: their definitions refer to the source schema by
+   * name, so the copies of schemas using them miss them.
+   */
+  private static void copySchema(Statement statement, String source, String target)
+      throws SQLException {
+    List<String> tables = new ArrayList<>();
+    try (ResultSet result =
+        statement.executeQuery(
+            "SELECT table_name FROM information_schema.tables WHERE table_schema = '"
+                + source
+                + "' AND table_type = 'BASE TABLE'")) {
+      while (result.next()) {
+        tables.add(result.getString(1));
+      }
+    }
+    Map<String, List<String>> columns = new HashMap<>();
+    try (ResultSet result =
+        statement.executeQuery(
+            "SELECT table_name, column_name FROM information_schema.columns WHERE table_schema = '"
+                + source
+                + "' AND extra NOT LIKE '%VIRTUAL GENERATED%'"
+                + " AND extra NOT LIKE '%STORED GENERATED%'"
+                + " ORDER BY table_name, ordinal_position")) {
+      while (result.next()) {
+        columns
+            .computeIfAbsent(result.getString(1), table -> new ArrayList<>())
+            .add("`" + result.getString(2) + "`");
+      }
+    }
+    List<String> definitions = new ArrayList<>();
+    for (String table : tables) {
+      try (ResultSet result =
+          statement.executeQuery("SHOW CREATE TABLE `" + source + "`.`" + table + "`")) {
+        result.next();
+        definitions.add(result.getString(2));
+      }
+    }
+
+    statement.execute("DROP DATABASE IF EXISTS `" + target + "`");
+    statement.execute("CREATE DATABASE `" + target + "`");
+    statement.execute("USE `" + target + "`");
+    statement.execute("SET foreign_key_checks = 0");
+    try {
+      for (String definition : definitions) {
+        statement.execute(definition);
+      }
+      for (String table : tables) {
+        String columnList = String.join(", ", columns.get(table));
+        statement.execute(
+            "INSERT INTO `"
+                + target
+                + "`.`"
+                + table
+                + "` ("
+                + columnList
+                + ") SELECT "
+                + columnList
+                + " FROM `"
+                + source
+                + "`.`"
+                + table
+                + "`");
+      }
+    } finally {
+      statement.execute("SET foreign_key_checks = 1");
+    }
+  }
+
+  /** Flushes the tables and the InnoDB redo log to disk. */
+  @Override
+  protected List<String> getSnapshotStatements() {
+    return List.of("FLUSH TABLES", "FLUSH ENGINE LOGS");
+  }
+
+  /** Databases are created by root, whose password is the one of the test user. */
+  @Override
+  protected String getIsolationUsername(String username) {
+    return "root";
+  }
+
+  /**
+   * MySQL container waiting for readiness with its wait strategy, which is set to the readiness
+   * probe. {@link MySQLContainer} otherwise polls a test query every 100 ms, ignoring the strategy.
+   */
+  private static final class ProbedMySQLContainer extends MySQLContainer<ProbedMySQLContainer> {
+
+    /** Startup timeout of {@link MySQLContainer}, applied to the readiness probe. */
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private ProbedMySQLContainer(DockerImageName image) {
+      super(image);
+    }
+
+    @Override
+    protected void waitUntilContainerStarted() {
+      getWaitStrategy().withStartupTimeout(STARTUP_TIMEOUT).waitUntilReady(this);
+    }
   }
 }
@@ -82,4 +82,44 @@ public @interface EnableOllamaContainer {
    * @see OllamaOptions
    */
   OllamaOptions options() default @OllamaOptions;
+
+  /**
+   * Specifies whether the container is started lazily.
+   *
+   * <p>A lazy container is not started before the test class runs, but when the Spring environment
+   * first resolves one of its connection properties, such as {@code spring.ai.ollama.base-url}.
+   * Test classes whose application context never resolves these properties never start the
+   * container.
+   *
+   * @return true to start the container on first use, defaults to false
+   */
+  boolean lazy() default false;
+
+  /**
+   * Specifies the number of CPUs the container may use, such as {@code 1.5}.
+   *
+   * @return the CPU limit, defaults to 0 for no limit
+   */
+  double cpus() default 0;
+
+  /**
+   * Specifies the memory limit of the container in megabytes.
+   *
+   * @return the memory limit, defaults to 0 for no limit
+   */
+  long memoryMb() default 0;
+
+  /**
+   * Specifies the size of {@code /dev/shm} in the container in megabytes.
+   *
+   * @return the shared memory size, defaults to 0 for the Docker default
+   */
+  long shmSizeMb() default 0;
+
+  /**
+   * Specifies paths in the container to mount as tmpfs, keeping their content in memory.
+   *
+   * @return the tmpfs mount paths, none by default
+   */
+  String[] tmpfs() default {};
 }
@@ -45,9 +45,6 @@ public class OllamaContainerExtension extends ContainerLifecycleExtension<Enable
   @Override
   protected SpringAwareContainerProvider<EnableOllamaContainer, ? extends GenericContainer<?>>
       initProvider(EnableOllamaContainer annotation) {
-    return getProvider(
-        annotation,
-        p -> p.getContainerType() == OLLAMA,
-        (prov, ann) -> prov.initContainerInstance(ann));
+    return getProvider(OLLAMA, annotation);
   }
 }
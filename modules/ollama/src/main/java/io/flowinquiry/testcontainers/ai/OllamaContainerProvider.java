@@ -3,11 +3,21 @@ package io.flowinquiry.testcontainers.ai;
 import static io.flowinquiry.testcontainers.ContainerType.OLLAMA;
 import static org.testcontainers.containers.BindMode.READ_WRITE;
 
+import io.flowinquiry.testcontainers.ContainerPhase;
 import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ProvidesContainer;
+import io.flowinquiry.testcontainers.ReadinessProbe;
 import io.flowinquiry.testcontainers.Slf4jOutputConsumer;
 import io.flowinquiry.testcontainers.SpringAwareContainerProvider;
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -27,6 +37,7 @@ import org.testcontainers.ollama.OllamaContainer;
  * specific parameters such as the Docker image, version, model name, and model options (temperature
  * and top-p values).
  */
+@ProvidesContainer(OLLAMA)
 public class OllamaContainerProvider
     extends SpringAwareContainerProvider<EnableOllamaContainer, OllamaContainer> {
 
@@ -45,35 +56,85 @@ public class OllamaContainerProvider
   /**
    * Creates and configures an Ollama container instance.
    *
+   * <p>Models are cached in a host directory shared by all Ollama containers, except in snapshot
+   * mode where they are kept in the container file system to be captured by the snapshot.
+   *
    * @return a new OllamaContainer instance configured with the specified Docker image and version
    */
   @Override
   protected OllamaContainer createContainer() {
-    return new OllamaContainer(dockerImage + ":" + version)
-        .withFileSystemBind("/tmp/ollama-cache", "/root/.ollama", READ_WRITE);
+    OllamaContainer ollama = new OllamaContainer(dockerImageName());
+    if (!isSnapshotMode()) {
+      ollama.withFileSystemBind("/tmp/ollama-cache", "/root/.ollama", READ_WRITE);
+    }
+    return ollama;
   }
 
   /**
-   * Starts the Ollama container and pulls the specified AI model.
+   * Pulls the specified AI model once the container has started.
    *
-   * <p>This method first calls the parent class's start method to start the container, then
-   * executes the 'ollama pull' command inside the container to download the specified AI model.
+   * <p>This method executes the 'ollama pull' command inside the container to download the
+   * specified AI model, unless it is already present. It is skipped when the container is restored
+   * from a snapshot, which already contains the model.
    *
    * @throws RuntimeException if there is an error pulling the model
    */
   @Override
-  public void start() {
-    super.start();
-
+  protected void initializeContainer() {
     Logger containerLog = LoggerFactory.getLogger(OllamaContainerProvider.class);
     container.followOutput(new Slf4jOutputConsumer(containerLog));
 
-    try {
-      log.info("Starting pull model {}", enableContainerAnnotation.model());
-      pullModelIfMissing(enableContainerAnnotation.model());
-    } catch (IOException | InterruptedException e) {
-      throw new RuntimeException(e);
-    }
+    timed(
+        ContainerPhase.MODEL_PULL,
+        () -> {
+          try {
+            log.info("Starting pull model {}", enableContainerAnnotation.model());
+            pullModelIfMissing(enableContainerAnnotation.model());
+          } catch (IOException | InterruptedException e) {
+            throw new RuntimeException(e);
+          }
+        });
+  }
+
+  /**
+   * Returns a probe calling the {@code /api/tags} endpoint of the Ollama server.
+   *
+   * @return the HTTP readiness probe
+   */
+  @Override
+  protected ReadinessProbe getReadinessProbe() {
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    return () ->
+        client
+                .send(
+                    HttpRequest.newBuilder(URI.create(container.getEndpoint() + "/api/tags"))
+                        .timeout(Duration.ofSeconds(1))
+                        .GET()
+                        .build(),
+                    HttpResponse.BodyHandlers.discarding())
+                .statusCode()
+            == 200;
+  }
+
+  /**
+   * Returns whether this provider supports snapshot mode, so that pulled models are restored from
+   * the snapshot.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean supportsSnapshot() {
+    return true;
+  }
+
+  /**
+   * Returns the name of the model, so that every model gets its own snapshot.
+   *
+   * @return the model pulled by the container
+   */
+  @Override
+  protected List<String> getSnapshotInputs() {
+    return List.of("model " + enableContainerAnnotation.model());
   }
 
   private void pullModelIfMissing(String modelName) throws IOException, InterruptedException {
@@ -89,6 +150,21 @@ public class OllamaContainerProvider
     }
   }
 
+  /**
+   * Returns the names of the Spring AI properties set by this provider.
+   *
+   * @return the Ollama base URL, model pull strategy and chat option property names
+   */
+  @Override
+  public Set<String> getPropertyNames() {
+    return Set.of(
+        "spring.ai.ollama.base-url",
+        "spring.ai.ollama.init.pull-model-strategy",
+        "spring.ai.ollama.chat.model",
+        "spring.ai.ollama.chat.options.temperature",
+        "spring.ai.ollama.chat.options.topp");
+  }
+
   /**
    * Applies Ollama-specific configuration to the Spring environment.
    *
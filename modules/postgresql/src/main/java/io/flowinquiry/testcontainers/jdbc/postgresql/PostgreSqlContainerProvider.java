@@ -3,11 +3,25 @@ package io.flowinquiry.testcontainers.jdbc.postgresql;
 import static io.flowinquiry.testcontainers.ContainerType.POSTGRESQL;
 
 import io.flowinquiry.testcontainers.ContainerType;
+import io.flowinquiry.testcontainers.ProvidesContainer;
+import io.flowinquiry.testcontainers.jdbc.DatabaseProfile;
 import io.flowinquiry.testcontainers.jdbc.SpringAwareJdbcContainerProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
 
-public final class PostgreSqlContainerProvider extends SpringAwareJdbcContainerProvider {
+@ProvidesContainer(POSTGRESQL)
+public final class PostgreSqlContainerProvider
+    extends SpringAwareJdbcContainerProvider<JdbcDatabaseContainer<?>> {
+
+  /**
+   * Data directory used in snapshot mode. The default one is a volume of the postgres image, whose
+   * content would be missing from a snapshot.
+   */
+  private static final String SNAPSHOT_DATA_DIRECTORY = "/var/lib/postgresql/snapshot-data";
 
   @Override
   public ContainerType getContainerType() {
@@ -16,6 +30,113 @@ public final class PostgreSqlContainerProvider extends SpringAwareJdbcContainerP
 
   @Override
   protected JdbcDatabaseContainer<?> createContainer() {
-    return new PostgreSQLContainer<>(dockerImage + ":" + version);
+    PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(dockerImageName());
+    if (isSnapshotMode()) {
+      postgres.withEnv("PGDATA", SNAPSHOT_DATA_DIRECTORY);
+    }
+    if (getProfile() == DatabaseProfile.FAST) {
+      postgres.withCommand(fastProfileCommand(getMemoryLimitMb()));
+    }
+    if (isRestoredFromSnapshot()) {
+      // An initialized database starts once, without the restart that follows initdb
+      postgres.waitingFor(
+          Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 1)
+              .withStartupTimeout(Duration.ofSeconds(60)));
+    }
+    return postgres;
+  }
+
+  /**
+   * Returns the server command of the fast profile. Durability is turned off: the server neither
+   * flushes to disk nor waits for WAL writes on commit, writes no full pages to the WAL and logs
+   * only what crash recovery needs, which requires WAL senders to be disabled. With a memory limit,
+   * a quarter of it goes to shared buffers, and a sixty-fourth to the memory of every sort and hash
+   * operation.
+   */
+  private static String[] fastProfileCommand(long memoryMb) {
+    List<String> command =
+        new ArrayList<>(
+            List.of(
+                "postgres",
+                "-c",
+                "fsync=off",
+                "-c",
+                "synchronous_commit=off",
+                "-c",
+                "full_page_writes=off",
+                "-c",
+                "wal_level=minimal",
+                "-c",
+                "max_wal_senders=0"));
+    if (memoryMb > 0) {
+      command.addAll(
+          List.of(
+              "-c",
+              "shared_buffers=" + Math.max(16, memoryMb / 4) + "MB",
+              "-c",
+              "work_mem=" + Math.max(4, memoryMb / 64) + "MB"));
+    }
+    return command.toArray(String[]::new);
+  }
+
+  @Override
+  protected String getDataDirectory() {
+    return "/var/lib/postgresql/data";
+  }
+
+  @Override
+  protected List<String> getIsolationStatements(String database, String username) {
+    return List.of(
+        "DROP DATABASE IF EXISTS " + database,
+        "CREATE DATABASE " + database + " OWNER " + username);
+  }
+
+  @Override
+  protected boolean supportsCloning() {
+    return true;
+  }
+
+  /**
+   * Copies the initialized database to the template. Connections to the template are disallowed, as
+   * {@code CREATE DATABASE ... TEMPLATE} fails while the template is in use.
+   */
+  @Override
+  protected List<String> getTemplateStatements(String template, String database) {
+    return List.of(
+        "DROP DATABASE IF EXISTS " + template,
+        "CREATE DATABASE " + template + " TEMPLATE " + database,
+        "ALTER DATABASE " + template + " ALLOW_CONNECTIONS false");
+  }
+
+  @Override
+  protected List<String> getCloneStatements(String clone, String template, String username) {
+    return List.of("CREATE DATABASE " + clone + " TEMPLATE " + template + " OWNER " + username);
+  }
+
+  /** Terminates the connections still open to the clone, so that it can be dropped. */
+  @Override
+  protected List<String> getDropStatements(String clone) {
+    return List.of(
+        "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = '"
+            + clone
+            + "' AND pid <> pg_backend_pid()",
+        "DROP DATABASE IF EXISTS " + clone);
+  }
+
+  /**
+   * Writes all dirty buffers and the write-ahead log to disk, so that a restore needs no recovery.
+   */
+  @Override
+  protected List<String> getSnapshotStatements() {
+    return List.of("CHECKPOINT");
+  }
+
+  /**
+   * Returns the maintenance database, as the initialized database can not be copied to the template
+   * while connected to it.
+   */
+  @Override
+  protected String getAdminDatabase() {
+    return "postgres";
   }
 }
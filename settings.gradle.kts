@@ -36,4 +36,5 @@ include("examples:springboot-mysql")
 include("examples:springboot-ollama")
 include("examples:springboot-kafka")
 include("modules:kafka")
-include("modules:jdbc")
\ No newline at end of file
+include("modules:jdbc")
+include("benchmarks")
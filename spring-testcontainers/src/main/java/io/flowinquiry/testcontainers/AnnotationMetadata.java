@@ -0,0 +1,147 @@
+package io.flowinquiry.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cached description of the attributes of an annotation type.
+ *
+ * <p>Container annotations are read for every test class, both to configure containers and to
+ * compute their {@link ContainerKey configuration signature}. Looking up the attribute methods by
+ * name and invoking them reflectively each time is wasteful, so the attributes of every annotation
+ * type are resolved once into method handles, ordered by attribute name, and reused afterwards.
+ */
+public final class AnnotationMetadata {
+
+  private static final ClassValue<AnnotationMetadata> cache =
+      new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected AnnotationMetadata computeValue(Class<?> type) {
+          return new AnnotationMetadata((Class<? extends Annotation>) type);
+        }
+      };
+
+  private final Class<? extends Annotation> annotationType;
+
+  /** Attribute accessors of the annotation type, ordered by attribute name. */
+  private final Map<String, MethodHandle> attributes;
+
+  private AnnotationMetadata(Class<? extends Annotation> annotationType) {
+    this.annotationType = annotationType;
+
+    Method[] methods = annotationType.getDeclaredMethods();
+    Arrays.sort(methods, Comparator.comparing(Method::getName));
+
+    Map<String, MethodHandle> handles = new LinkedHashMap<>();
+    for (Method method : methods) {
+      if (method.getParameterCount() != 0) continue;
+      try {
+        method.trySetAccessible();
+        handles.put(
+            method.getName(),
+            MethodHandles.lookup()
+                .unreflect(method)
+                .asType(MethodType.methodType(Object.class, Annotation.class)));
+      } catch (IllegalAccessException e) {
+        throw new IllegalArgumentException(
+            "Can not read attribute " + method.getName() + " of annotation " + annotationType, e);
+      }
+    }
+    this.attributes = Collections.unmodifiableMap(handles);
+  }
+
+  /**
+   * Returns the metadata of the given annotation type, resolving it on first use.
+   *
+   * @param annotationType the annotation type
+   * @return the metadata of the annotation type
+   */
+  public static AnnotationMetadata of(Class<? extends Annotation> annotationType) {
+    return cache.get(annotationType);
+  }
+
+  /**
+   * Returns the annotation type described by this metadata.
+   *
+   * @return the annotation type
+   */
+  public Class<? extends Annotation> annotationType() {
+    return annotationType;
+  }
+
+  /**
+   * Checks whether the annotation type declares an attribute with the given name.
+   *
+   * @param name the attribute name
+   * @return true if the attribute exists, false otherwise
+   */
+  public boolean hasAttribute(String name) {
+    return attributes.containsKey(name);
+  }
+
+  /**
+   * Reads the value of an attribute from an annotation of the described type.
+   *
+   * @param annotation the annotation to read from
+   * @param name the attribute name
+   * @return the attribute value
+   * @throws IllegalArgumentException if the annotation type has no attribute with the given name
+   */
+  public Object getValue(Annotation annotation, String name) {
+    MethodHandle handle = attributes.get(name);
+    if (handle == null) {
+      throw new IllegalArgumentException(
+          "Annotation " + annotationType.getName() + " has no attribute " + name);
+    }
+    return invoke(handle, annotation, name);
+  }
+
+  /**
+   * Reads the values of all attributes from an annotation of the described type. Array values are
+   * converted into lists, so that the result has value-based equality.
+   *
+   * @param annotation the annotation to read from
+   * @return the attribute values, ordered by attribute name
+   */
+  public Map<String, Object> getValues(Annotation annotation) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    attributes.forEach(
+        (name, handle) -> values.put(name, normalize(invoke(handle, annotation, name))));
+    return Collections.unmodifiableMap(values);
+  }
+
+  private Object invoke(MethodHandle handle, Annotation annotation, String name) {
+    try {
+      return handle.invokeExact(annotation);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalArgumentException(
+          "Can not read attribute " + name + " of annotation " + annotationType.getName(), e);
+    }
+  }
+
+  /** Converts array values into lists so that they have value-based equality. */
+  private static Object normalize(Object value) {
+    if (value == null || !value.getClass().isArray()) return value;
+
+    int length = Array.getLength(value);
+    List<Object> values = new ArrayList<>(length);
+    for (int i = 0; i < length; i++) {
+      values.add(normalize(Array.get(value, i)));
+    }
+    return Collections.unmodifiableList(values);
+  }
+}
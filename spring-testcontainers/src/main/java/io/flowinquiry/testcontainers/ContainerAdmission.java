@@ -0,0 +1,269 @@
+package io.flowinquiry.testcontainers;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for container startups.
+ *
+ * <p>Starting many containers at once, as parallel test classes or forked test JVMs do, makes the
+ * Docker daemon thrash: every startup gets slower and wait strategies time out. Container startups
+ * are therefore only admitted while fewer than a limit of them are running. The limit adapts to the
+ * observed startup latency:
+ *
+ * <ul>
+ *   <li>It grows by one after every startup that was not noticeably slower than the fastest startup
+ *       seen for the same image.
+ *   <li>It is halved after a startup that took more than {@value #SLOWDOWN_FACTOR} times as long as
+ *       the fastest one, or that failed.
+ * </ul>
+ *
+ * <p>The limit starts at, and never exceeds, the configuration parameter {@value
+ * #MAX_CONCURRENT_STARTUPS}, which defaults to the number of available processors. It is further
+ * lowered while the machine is short of free memory or its CPUs are saturated.
+ *
+ * <p>Test JVMs on the same machine share the startup slots through lock files in the directory
+ * given by {@value #STARTUP_LOCK_DIR} ({@code build/spring-testcontainers/startup} by default), so
+ * the limit also holds across forks. Admission control can be turned off with the configuration
+ * parameter {@value #ADMISSION_ENABLED}.
+ */
+public final class ContainerAdmission {
+
+  /** Configuration parameter that enables admission control of container startups. */
+  public static final String ADMISSION_ENABLED =
+      "flowinquiry.testcontainers.startup.admission.enabled";
+
+  /** Configuration parameter setting the maximum number of containers starting at the same time. */
+  public static final String MAX_CONCURRENT_STARTUPS =
+      "flowinquiry.testcontainers.startup.max-concurrent";
+
+  /** Configuration parameter setting the directory holding the startup slot lock files. */
+  public static final String STARTUP_LOCK_DIR = "flowinquiry.testcontainers.startup.lock.dir";
+
+  /** Ratio to the fastest startup of an image above which a startup is considered slowed down. */
+  static final double SLOWDOWN_FACTOR = 2.0;
+
+  /** Free memory needed for each concurrent startup. */
+  private static final long MEMORY_PER_STARTUP = 512L * 1024 * 1024;
+
+  /** System CPU load above which the limit is halved. */
+  private static final double CPU_SATURATION = 0.9;
+
+  /** Interval at which waiting startups check for a free slot. */
+  private static final long POLL_MILLIS = 100;
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerAdmission.class);
+
+  private static final Object monitor = new Object();
+
+  /** Startup slots held by this JVM, guarded by the monitor. */
+  private static final Set<Integer> heldSlots = new HashSet<>();
+
+  /** Fastest startup observed per image, in nanoseconds. */
+  private static final Map<String, Long> fastestStartups = new ConcurrentHashMap<>();
+
+  /** Current adaptive limit, guarded by the monitor. Initialized on first use. */
+  private static int limit;
+
+  /** Whether lock files can not be used, in which case slots are only bounded within this JVM. */
+  private static boolean lockFilesUnavailable;
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerAdmission() {}
+
+  /**
+   * Waits until a container startup is admitted.
+   *
+   * @return the permit of the startup, to be released once the startup is over
+   * @throws IllegalStateException if the thread is interrupted while waiting
+   */
+  static Permit acquire() {
+    if (!ContainerSettings.getBoolean(ADMISSION_ENABLED, true)) {
+      return new Permit(-1, null, null);
+    }
+
+    while (true) {
+      synchronized (monitor) {
+        int admitted = admittedStartups();
+        for (int slot = 0; slot < admitted; slot++) {
+          if (heldSlots.contains(slot)) continue;
+
+          Permit permit = tryAcquire(slot);
+          if (permit != null) {
+            heldSlots.add(slot);
+            return permit;
+          }
+        }
+      }
+      try {
+        Thread.sleep(POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting to start a container", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of container startups currently admitted at the same time, considering the
+   * adaptive limit and the machine's resources.
+   *
+   * @return the number of startups that may run concurrently
+   */
+  static int currentLimit() {
+    synchronized (monitor) {
+      return admittedStartups();
+    }
+  }
+
+  /**
+   * Returns the adaptive limit, before it is lowered for the machine's resources.
+   *
+   * @return the adaptive limit, or 0 if no startup has been admitted yet
+   */
+  static int adaptiveLimit() {
+    synchronized (monitor) {
+      return limit;
+    }
+  }
+
+  /** Returns the number of startups currently admitted, considering the machine's resources. */
+  private static int admittedStartups() {
+    int max = maxStartups();
+    if (limit == 0 || limit > max) {
+      limit = max;
+    }
+
+    int admitted = limit;
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean system) {
+      long freeMemory = system.getFreeMemorySize();
+      if (freeMemory > 0) {
+        admitted = (int) Math.min(admitted, Math.max(1, freeMemory / MEMORY_PER_STARTUP));
+      }
+      if (system.getCpuLoad() > CPU_SATURATION) {
+        admitted = Math.max(1, admitted / 2);
+      }
+    }
+    return admitted;
+  }
+
+  private static int maxStartups() {
+    int max =
+        ContainerSettings.get(MAX_CONCURRENT_STARTUPS)
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .orElse(Runtime.getRuntime().availableProcessors());
+    return Math.max(1, max);
+  }
+
+  /** Tries to lock a startup slot shared with the other test JVMs. */
+  private static Permit tryAcquire(int slot) {
+    if (lockFilesUnavailable) {
+      return new Permit(slot, null, null);
+    }
+
+    Path directory =
+        Paths.get(
+            ContainerSettings.get(STARTUP_LOCK_DIR).orElse("build/spring-testcontainers/startup"));
+    FileChannel channel = null;
+    try {
+      Files.createDirectories(directory);
+      channel =
+          FileChannel.open(
+              directory.resolve("slot-" + slot + ".lock"),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE);
+      FileLock lock = channel.tryLock();
+      if (lock != null) {
+        return new Permit(slot, channel, lock);
+      }
+      channel.close();
+      return null;
+    } catch (IOException e) {
+      log.warn(
+          "Can not use startup lock files in {}, limiting startups within this JVM only",
+          directory.toAbsolutePath(),
+          e);
+      lockFilesUnavailable = true;
+      closeQuietly(channel);
+      return new Permit(slot, null, null);
+    }
+  }
+
+  /** Adapts the limit to the outcome of a startup. */
+  private static void adapt(String image, boolean started, long nanos) {
+    int previous = limit;
+    if (!started) {
+      limit = Math.max(1, limit / 2);
+    } else {
+      long fastest = fastestStartups.merge(image, nanos, Math::min);
+      if (nanos > fastest * SLOWDOWN_FACTOR) {
+        limit = Math.max(1, limit / 2);
+      } else {
+        limit = Math.min(maxStartups(), limit + 1);
+      }
+    }
+    if (limit != previous) {
+      log.debug("Concurrent container startup limit changed from {} to {}", previous, limit);
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel == null) return;
+    try {
+      channel.close();
+    } catch (IOException e) {
+      log.debug("Failed to close startup lock file", e);
+    }
+  }
+
+  /** An admitted container startup, holding one startup slot until it is released. */
+  static final class Permit {
+    private final int slot;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final long admittedAt = System.nanoTime();
+
+    private Permit(int slot, FileChannel channel, FileLock lock) {
+      this.slot = slot;
+      this.channel = channel;
+      this.lock = lock;
+    }
+
+    /**
+     * Releases the startup slot and adapts the limit to the outcome of the startup.
+     *
+     * @param image the image the container was started from
+     * @param started whether the container started successfully
+     */
+    void release(String image, boolean started) {
+      if (slot < 0) return;
+
+      long nanos = System.nanoTime() - admittedAt;
+      synchronized (monitor) {
+        try {
+          if (lock != null) lock.release();
+        } catch (IOException e) {
+          log.debug("Failed to release startup slot {}", slot, e);
+        }
+        closeQuietly(channel);
+        heldSlots.remove(slot);
+        adapt(image, started, nanos);
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ContextCustomizer;
+import org.springframework.test.context.MergedContextConfiguration;
+
+/**
+ * A {@link ContextCustomizer} that applies the configuration of the containers declared on a test
+ * class to the Spring environment.
+ *
+ * <p>The identity of the customizer is the set of {@link ContainerKey container configuration
+ * signatures} it applies. Test classes that use the same containers therefore produce equal
+ * customizers, which keeps their {@link MergedContextConfiguration} equal and lets Spring's test
+ * context cache hand them the same {@code ApplicationContext}.
+ *
+ * <p>Each application context holds its own reference to the shared containers it is configured
+ * with, which is released when the context is closed, either by eviction from the context cache or
+ * at shutdown. A container therefore stays up as long as a cached context may still connect to it,
+ * even after the test classes that declared it have completed. Containers scoped to a single test
+ * class are not referenced, as their contexts are never reused by another class.
+ *
+ * <p>For {@link ContainerIsolation isolated} containers, every context gets the properties of its
+ * own part of the container, which is released when the context is closed. The test class is then
+ * part of the identity of the customizer, so that no other test class reuses the context.
+ */
+final class ContainerContextCustomizer implements ContextCustomizer {
+
+  /** Number of isolation units created in this JVM, used to name them. */
+  private static final AtomicInteger isolationCount = new AtomicInteger();
+
+  private final Set<ContainerKey> containerKeys;
+
+  private final Class<?> isolatedTestClass;
+
+  /**
+   * Creates a customizer applying the containers registered under the given keys.
+   *
+   * @param containerKeys the configuration signatures of the containers
+   * @param isolatedTestClass the test class the context is dedicated to if one of the containers is
+   *     isolated, null otherwise
+   */
+  ContainerContextCustomizer(Set<ContainerKey> containerKeys, Class<?> isolatedTestClass) {
+    this.containerKeys = Set.copyOf(containerKeys);
+    this.isolatedTestClass = isolatedTestClass;
+  }
+
+  /**
+   * Applies the configuration of every container to the environment of the application context and
+   * ties the lifetime of the shared containers to the context. Lazy containers that are not started
+   * yet are exposed through a {@link LazyContainerPropertySource}, which starts them on first use,
+   * except for isolated containers, which are started to create the isolated part of the context.
+   *
+   * @param context the application context to customize
+   * @param mergedConfig the merged context configuration
+   * @throws IllegalStateException if a container has not been started for one of the keys
+   */
+  @Override
+  public void customizeContext(
+      ConfigurableApplicationContext context, MergedContextConfiguration mergedConfig) {
+    List<ContainerKey> retainedKeys = new ArrayList<>();
+    Map<ContainerHandle, Map<String, String>> isolatedParts = new LinkedHashMap<>();
+    for (ContainerKey key : containerKeys) {
+      ContainerHandle provider =
+          key.isShared() ? ContainerRegistry.retain(key) : ContainerRegistry.find(key);
+      if (provider == null) {
+        retainedKeys.forEach(ContainerRegistry::release);
+        throw new IllegalStateException(
+            "Can not find the associated provider of container "
+                + key
+                + " for test class "
+                + mergedConfig.getTestClass().getName());
+      }
+      if (key.isShared()) {
+        retainedKeys.add(key);
+      }
+
+      if (key.isolation() != ContainerIsolation.NONE) {
+        ContainerHandle started =
+            key.isLazy() && ContainerRegistry.get(key) == null
+                ? ContainerRegistry.start(key)
+                : provider;
+        Map<String, String> properties;
+        try {
+          properties =
+              started.isolateProperties(
+                  "test_" + ProcessHandle.current().pid() + "_" + isolationCount.incrementAndGet());
+        } catch (RuntimeException e) {
+          isolatedParts.forEach(ContainerHandle::releaseIsolatedProperties);
+          retainedKeys.forEach(ContainerRegistry::release);
+          throw e;
+        }
+        isolatedParts.put(started, properties);
+        context
+            .getEnvironment()
+            .getPropertySources()
+            .addFirst(
+                new MapPropertySource("testcontainers.isolated:" + key, new HashMap<>(properties)));
+      } else if (key.isLazy() && ContainerRegistry.get(key) == null) {
+        context
+            .getEnvironment()
+            .getPropertySources()
+            .addFirst(new LazyContainerPropertySource(key, provider.getPropertyNames()));
+      } else {
+        provider.configure(context.getEnvironment());
+      }
+    }
+
+    if (!retainedKeys.isEmpty() || !isolatedParts.isEmpty()) {
+      context.addApplicationListener(
+          new ContainerReleasingListener(context, retainedKeys, isolatedParts));
+    }
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other
+        || (other instanceof ContainerContextCustomizer that
+            && containerKeys.equals(that.containerKeys)
+            && isolatedTestClass == that.isolatedTestClass);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(containerKeys, isolatedTestClass);
+  }
+
+  @Override
+  public String toString() {
+    return "ContainerContextCustomizer"
+        + containerKeys
+        + (isolatedTestClass == null ? "" : " isolated for " + isolatedTestClass.getName());
+  }
+
+  /**
+   * Releases the isolated parts of containers and the containers referenced by an application
+   * context once the context is closed.
+   */
+  private static final class ContainerReleasingListener
+      implements ApplicationListener<ContextClosedEvent> {
+
+    private final ApplicationContext context;
+    private final List<ContainerKey> containerKeys;
+    private final Map<ContainerHandle, Map<String, String>> isolatedParts;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private ContainerReleasingListener(
+        ApplicationContext context,
+        List<ContainerKey> containerKeys,
+        Map<ContainerHandle, Map<String, String>> isolatedParts) {
+      this.context = context;
+      this.containerKeys = containerKeys;
+      this.isolatedParts = isolatedParts;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+      // Closing a child context is propagated to its parent, only react to our own context
+      if (event.getApplicationContext() == context && released.compareAndSet(false, true)) {
+        isolatedParts.forEach(ContainerHandle::releaseIsolatedProperties);
+        containerKeys.forEach(ContainerRegistry::release);
+      }
+    }
+  }
+}
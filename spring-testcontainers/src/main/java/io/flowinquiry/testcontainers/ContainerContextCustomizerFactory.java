@@ -1,6 +1,8 @@
 package io.flowinquiry.testcontainers;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.test.context.ContextConfigurationAttributes;
@@ -27,26 +29,36 @@ public class ContainerContextCustomizerFactory implements ContextCustomizerFacto
   /**
    * Creates a context customizer for the specified test class.
    *
-   * <p>The created customizer retrieves the {@link SpringAwareContainerProvider} associated with
-   * the test class from the {@link ContainerRegistry} and applies its configuration to the Spring
-   * environment. This allows test classes to access container-specific properties (like connection
-   * URLs, ports, etc.) through Spring's environment.
+   * <p>The containers declared on the test class are resolved through {@link
+   * ContainerDeclaration#of(Class)}. The created customizer retrieves their providers from the
+   * {@link ContainerRegistry} and applies their configuration to the Spring environment. This
+   * allows test classes to access container-specific properties (like connection URLs, ports, etc.)
+   * through Spring's environment.
+   *
+   * <p>Customizers created for test classes using the same container configurations are equal, so
+   * that Spring can reuse a cached application context across these test classes, unless one of the
+   * containers is {@link ContainerIsolation isolated}, in which case the test class gets an
+   * application context of its own.
    *
    * @param testClass the test class for which to create a context customizer
    * @param configAttributes the context configuration attributes
-   * @return a context customizer that applies container configuration to the Spring environment
+   * @return a context customizer that applies container configuration to the Spring environment, or
+   *     null if the test class does not declare any container
    */
   @Override
   public ContextCustomizer createContextCustomizer(
       Class<?> testClass, List<ContextConfigurationAttributes> configAttributes) {
-    return (context, mergedConfig) -> {
-      SpringAwareContainerProvider<?, ?> provider = ContainerRegistry.get(testClass);
-      if (provider != null) {
-        provider.applyTo(context.getEnvironment());
-      } else {
-        throw new IllegalStateException(
-            "Can not file the associate provider for test class " + testClass.getName());
-      }
-    };
+    Set<ContainerKey> containerKeys = new LinkedHashSet<>();
+    for (ContainerDeclaration declaration : ContainerDeclaration.of(testClass)) {
+      containerKeys.add(declaration.key());
+    }
+
+    if (containerKeys.isEmpty()) {
+      return null;
+    }
+    log.debug("Containers {} apply to test class {}", containerKeys, testClass.getName());
+    boolean isolated =
+        containerKeys.stream().anyMatch(key -> key.isolation() != ContainerIsolation.NONE);
+    return new ContainerContextCustomizer(containerKeys, isolated ? testClass : null);
   }
 }
@@ -0,0 +1,82 @@
+package io.flowinquiry.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ModifierSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * A container declared on a test class through an {@code @EnableXxx} annotation.
+ *
+ * <p>Declarations are discovered statically from the {@link ExtendWith} registrations of a test
+ * class, without running any JUnit callback. Every registered {@link ContainerLifecycleExtension}
+ * is asked to resolve its annotation from the test class, exactly as it does in {@link
+ * ContainerLifecycleExtension#beforeAll}. This allows components outside of the JUnit extension
+ * lifecycle, such as Spring context customizers, to know which containers a test class needs.
+ *
+ * @param extension the extension responsible for the container
+ * @param annotation the resolved annotation that enables and configures the container
+ * @param declaringClass the test class on which the container is declared
+ */
+public record ContainerDeclaration(
+    ContainerLifecycleExtension<?> extension, Annotation annotation, Class<?> declaringClass) {
+
+  /** Extension instances used to resolve annotations, one per extension type. */
+  private static final Map<Class<?>, ContainerLifecycleExtension<?>> resolvers =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Finds all containers declared on a test class.
+   *
+   * <p>Inner test classes (such as {@code @Nested} classes) also see the containers declared on
+   * their enclosing classes.
+   *
+   * @param testClass the test class to examine
+   * @return the container declarations, or an empty list if the class declares no container
+   */
+  public static List<ContainerDeclaration> of(Class<?> testClass) {
+    List<ContainerDeclaration> declarations = new ArrayList<>();
+    for (Class<?> current = testClass; current != null; current = enclosingClassOf(current)) {
+      for (ExtendWith extendWith :
+          AnnotationSupport.findRepeatableAnnotations(current, ExtendWith.class)) {
+        for (Class<? extends Extension> extensionType : extendWith.value()) {
+          if (!ContainerLifecycleExtension.class.isAssignableFrom(extensionType)) continue;
+
+          ContainerLifecycleExtension<?> extension =
+              resolvers.computeIfAbsent(
+                  extensionType,
+                  type -> (ContainerLifecycleExtension<?>) ReflectionSupport.newInstance(type));
+          Annotation annotation = extension.getResolvedAnnotation(current);
+          if (annotation != null
+              && declarations.stream().noneMatch(d -> d.annotation.equals(annotation))) {
+            declarations.add(new ContainerDeclaration(extension, annotation, current));
+          }
+        }
+      }
+    }
+    return declarations.isEmpty() ? List.of() : Collections.unmodifiableList(declarations);
+  }
+
+  /**
+   * Returns the registry key of the declared container, honoring the {@link
+   * ContainerSettings#SHARING_ENABLED sharing} setting.
+   *
+   * @return the container key
+   */
+  public ContainerKey key() {
+    return ContainerSettings.isSharingEnabled()
+        ? ContainerKey.of(annotation)
+        : ContainerKey.of(annotation, declaringClass);
+  }
+
+  private static Class<?> enclosingClassOf(Class<?> testClass) {
+    return ModifierSupport.isNotStatic(testClass) ? testClass.getEnclosingClass() : null;
+  }
+}
@@ -0,0 +1,288 @@
+package io.flowinquiry.testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares containers between test JVMs running on the same machine, such as the forks of a Gradle
+ * test task with {@code maxParallelForks} greater than one.
+ *
+ * <p>Without coordination every JVM has its own {@link ContainerRegistry}, and starts its own copy
+ * of each container. When the configuration parameter {@value #FORK_SHARING_ENABLED} is set, the
+ * JVMs coordinate through a lock file and a state file per {@link ContainerKey configuration
+ * signature}, in the directory given by {@value #FORK_SHARING_DIR} ({@code
+ * build/spring-testcontainers/forks} by default):
+ *
+ * <ul>
+ *   <li>The first JVM needing a container starts it and records its properties and process id in
+ *       the state file.
+ *   <li>Other JVMs find the state file, register their process id and use the recorded properties,
+ *       without starting a container.
+ *   <li>Every JVM gets its own {@link SpringAwareContainerProvider#isolate(Map, String) isolated}
+ *       part of the container, such as a dedicated database, so tests in different JVMs do not see
+ *       each other's data. Providers create it from the initialized state of the container, for
+ *       example by cloning a template of the initialized database.
+ *   <li>When the JVM that started the container is done with it, it waits for the other JVMs to
+ *       release it before stopping it. This also keeps the Testcontainers resource reaper of that
+ *       JVM from removing the container while others still use it.
+ * </ul>
+ *
+ * <p>State left behind by a JVM that died is detected through its process id and replaced. Only
+ * shareable containers whose provider declares its {@link
+ * SpringAwareContainerProvider#getPropertyNames() properties} take part; others are started by
+ * every JVM as usual.
+ */
+public final class ContainerForks {
+
+  /** Configuration parameter that enables sharing containers between test JVMs. */
+  public static final String FORK_SHARING_ENABLED =
+      "flowinquiry.testcontainers.fork.sharing.enabled";
+
+  /** Configuration parameter setting the directory holding the lock and state files. */
+  public static final String FORK_SHARING_DIR = "flowinquiry.testcontainers.fork.sharing.dir";
+
+  /** Interval at which the JVM owning a container checks whether other JVMs still use it. */
+  private static final long RELEASE_POLL_MILLIS = 500;
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerForks.class);
+
+  /**
+   * Monitors serializing access to the files of one container within this JVM, as file locks are
+   * held on behalf of the whole JVM.
+   */
+  private static final Map<String, Object> monitors = new ConcurrentHashMap<>();
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerForks() {}
+
+  /**
+   * Returns whether containers are shared between test JVMs.
+   *
+   * @return true if {@value #FORK_SHARING_ENABLED} is set to true
+   */
+  public static boolean isEnabled() {
+    return ContainerSettings.getBoolean(FORK_SHARING_ENABLED, false);
+  }
+
+  /**
+   * Starts the container of the given provider, or attaches to the one started by another test JVM
+   * for the same configuration signature.
+   *
+   * @param key the configuration signature of the container
+   * @param provider the initialized, not yet started container provider
+   * @return a handle exposing the isolated part of the container reserved for this JVM
+   */
+  static ForkAttachment start(ContainerKey key, SpringAwareContainerProvider<?, ?> provider) {
+    long pid = ProcessHandle.current().pid();
+    ForkState state =
+        update(
+            key,
+            current -> {
+              if (current != null && isAlive(current.owner)) {
+                log.info("Attaching to container {} started by process {}", key, current.owner);
+                current.forks.removeIf(fork -> !isAlive(fork));
+                current.forks.add(pid);
+                return current;
+              }
+              provider.start();
+              Map<String, String> properties = new TreeMap<>();
+              provider
+                  .captureProperties()
+                  .forEach((name, value) -> properties.put(name, String.valueOf(value)));
+              return new ForkState(pid, properties, new TreeSet<>(Set.of(pid)));
+            });
+
+    boolean owner = state.owner == pid;
+    try {
+      Map<String, String> isolated = provider.isolateTimed(state.properties, "fork_" + pid);
+      return new ForkAttachment(key, provider, owner, state.properties, isolated);
+    } catch (RuntimeException e) {
+      leave(key, provider, owner);
+      throw e;
+    }
+  }
+
+  /**
+   * Releases the container shared with other test JVMs. The JVM that started the container waits
+   * until no other JVM uses it anymore, then stops it.
+   *
+   * @param key the configuration signature of the container
+   * @param provider the provider that was passed to {@link #start(ContainerKey,
+   *     SpringAwareContainerProvider)}
+   * @param owner whether this JVM started the container
+   */
+  static void leave(ContainerKey key, SpringAwareContainerProvider<?, ?> provider, boolean owner) {
+    long pid = ProcessHandle.current().pid();
+    if (!owner) {
+      update(
+          key,
+          current -> {
+            if (current != null) current.forks.remove(pid);
+            return current;
+          });
+      return;
+    }
+
+    boolean waiting = false;
+    while (true) {
+      ForkState remaining =
+          update(
+              key,
+              current -> {
+                if (current == null || current.owner != pid) {
+                  provider.stop();
+                  return current;
+                }
+                current.forks.remove(pid);
+                current.forks.removeIf(fork -> !isAlive(fork));
+                if (current.forks.isEmpty()) {
+                  provider.stop();
+                  return null;
+                }
+                return current;
+              });
+      if (remaining == null || remaining.owner != pid) return;
+
+      if (!waiting) {
+        log.info("Waiting for processes {} to release container {}", remaining.forks, key);
+        waiting = true;
+      }
+      try {
+        Thread.sleep(RELEASE_POLL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log.warn("Interrupted while waiting for other processes, stopping container {}", key);
+        update(key, current -> null);
+        provider.stop();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads, updates and writes the state of a container while holding its lock file. The state file
+   * is deleted if the update returns null.
+   */
+  private static ForkState update(ContainerKey key, UnaryOperator<ForkState> update) {
+    String id = id(key);
+    Path directory =
+        Paths.get(
+            ContainerSettings.get(FORK_SHARING_DIR).orElse("build/spring-testcontainers/forks"));
+    Path stateFile = directory.resolve(id + ".properties");
+
+    synchronized (monitors.computeIfAbsent(id, k -> new Object())) {
+      try {
+        Files.createDirectories(directory);
+        try (FileChannel channel =
+            FileChannel.open(
+                directory.resolve(id + ".lock"),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+          FileLock lock = channel.lock();
+          try {
+            ForkState updated = update.apply(ForkState.read(stateFile));
+            if (updated == null) {
+              Files.deleteIfExists(stateFile);
+            } else {
+              updated.write(stateFile);
+            }
+            return updated;
+          } finally {
+            lock.release();
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(
+            "Failed to coordinate container " + key + " in " + directory.toAbsolutePath(), e);
+      }
+    }
+  }
+
+  /** Derives the file name of a container from its configuration signature. */
+  private static String id(ContainerKey key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] hash =
+          digest.digest(
+              (key.annotationType().getName() + key.attributes()).getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash).substring(0, 32);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  private static boolean isAlive(long pid) {
+    return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+  }
+
+  /** Content of the state file of a container shared between test JVMs. */
+  private static final class ForkState {
+    private final long owner;
+    private final Map<String, String> properties;
+    private final Set<Long> forks;
+
+    private ForkState(long owner, Map<String, String> properties, Set<Long> forks) {
+      this.owner = owner;
+      this.properties = properties;
+      this.forks = forks;
+    }
+
+    private static ForkState read(Path file) throws IOException {
+      if (!Files.exists(file)) return null;
+
+      Properties stored = new Properties();
+      try (InputStream in = Files.newInputStream(file)) {
+        stored.load(in);
+      }
+      Map<String, String> properties = new TreeMap<>();
+      for (String name : stored.stringPropertyNames()) {
+        if (name.startsWith("property.")) {
+          properties.put(name.substring("property.".length()), stored.getProperty(name));
+        }
+      }
+      Set<Long> forks =
+          Arrays.stream(stored.getProperty("forks", "").split(","))
+              .filter(fork -> !fork.isBlank())
+              .map(Long::valueOf)
+              .collect(Collectors.toCollection(TreeSet::new));
+      return new ForkState(Long.parseLong(stored.getProperty("owner")), properties, forks);
+    }
+
+    private void write(Path file) throws IOException {
+      Properties stored = new Properties();
+      stored.setProperty("owner", Long.toString(owner));
+      stored.setProperty(
+          "forks", forks.stream().map(String::valueOf).collect(Collectors.joining(",")));
+      properties.forEach((name, value) -> stored.setProperty("property." + name, value));
+
+      Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        stored.store(out, "spring-testcontainers fork sharing state");
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
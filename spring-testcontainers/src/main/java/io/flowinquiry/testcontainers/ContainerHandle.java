@@ -0,0 +1,70 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.Map;
+import java.util.Set;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * A container registered in the {@link ContainerRegistry}, as used by the test classes and
+ * application contexts it is shared with.
+ *
+ * <p>Containers started by the current JVM are handled by their {@link SpringAwareContainerProvider
+ * provider}. Containers started by another test JVM and attached to through {@link ContainerForks}
+ * are handled by an attachment that only knows the properties of the container.
+ */
+public interface ContainerHandle {
+
+  /**
+   * Returns the type of the container.
+   *
+   * @return the container type (e.g., POSTGRESQL, MYSQL, OLLAMA)
+   */
+  ContainerType getContainerType();
+
+  /**
+   * Returns the names of the properties the container applies to the Spring environment.
+   *
+   * @return the names of the container properties, or an empty set if they are not declared
+   */
+  Set<String> getPropertyNames();
+
+  /**
+   * Applies the container properties to the Spring environment.
+   *
+   * @param environment the Spring environment to configure
+   */
+  void configure(ConfigurableEnvironment environment);
+
+  /**
+   * Captures the values of the {@link #getPropertyNames() declared properties} of the container.
+   *
+   * @return the values of the declared properties, by name
+   */
+  Map<String, Object> captureProperties();
+
+  /**
+   * Creates an isolated part of the container for an {@link ContainerIsolation isolation unit},
+   * such as a dedicated database.
+   *
+   * @param namespace a name unique to the isolation unit
+   * @return the properties of the isolated part of the container
+   */
+  Map<String, String> isolateProperties(String namespace);
+
+  /**
+   * Releases an isolated part of the container created by {@link #isolateProperties(String)}.
+   *
+   * @param properties the properties of the isolated part
+   */
+  void releaseIsolatedProperties(Map<String, String> properties);
+
+  /**
+   * Returns the accumulated duration of every lifecycle phase of the container measured so far.
+   *
+   * @return the durations in nanoseconds, by phase
+   */
+  Map<ContainerPhase, Long> getTimings();
+
+  /** Stops the container, or releases it if it is shared with other test JVMs. */
+  void stop();
+}
@@ -0,0 +1,142 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Pulls the images of containers ahead of their startup.
+ *
+ * <p>When a test plan starts, the images of all containers it declares are prefetched concurrently,
+ * so that distinct images are not pulled one after the other by the containers needing them. Every
+ * image is pulled at most once, however many containers need it: containers wait for the pull of
+ * their image before they start, and the wait is reported as the {@link ContainerPhase#PULL pull
+ * phase}, apart from the start itself.
+ *
+ * <p>Images are resolved through Testcontainers, so its local image cache, pull policy and image
+ * name substitution apply. In particular, a registry mirror configured with the Testcontainers
+ * property {@code hub.image.name.prefix} is used for all pulls. Prefetching can be turned off with
+ * the configuration parameter {@value #PREFETCH_ENABLED}.
+ */
+public final class ContainerImages {
+
+  /** Configuration parameter that enables pulling the images of a test plan when it starts. */
+  public static final String PREFETCH_ENABLED = "flowinquiry.testcontainers.prefetch.enabled";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerImages.class);
+
+  /** Pulls of images, pending or completed, by image name. */
+  private static final Map<String, CompletableFuture<Void>> pulls = new ConcurrentHashMap<>();
+
+  /** Executor pulling images in the background, created on first use. */
+  private static ExecutorService pullExecutor;
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerImages() {}
+
+  /**
+   * Pulls the given images in the background, unless they are already present locally.
+   *
+   * @param images the names of the images, including their version
+   */
+  static void prefetch(Collection<String> images) {
+    if (images.isEmpty() || !ContainerSettings.getBoolean(PREFETCH_ENABLED, true)) return;
+
+    if (!DockerClientFactory.instance().isDockerAvailable()) {
+      log.debug("Docker is not available, skipping the prefetch of images {}", images);
+      return;
+    }
+    log.debug("Prefetching images {}", images);
+    for (String image : images) {
+      submit(DockerImageName.parse(image));
+    }
+  }
+
+  /**
+   * Waits until the given image is present locally, pulling it if no pull is pending yet. A failed
+   * pull is logged and left to the container startup to report.
+   *
+   * @param image the name of the image
+   */
+  static void await(DockerImageName image) {
+    try {
+      submit(image).join();
+    } catch (CompletionException e) {
+      log.warn("Failed to pull image {}", image.asCanonicalNameString(), e.getCause());
+    }
+  }
+
+  /** Submits the pull of an image, or returns the pull already submitted for it. */
+  private static CompletableFuture<Void> submit(DockerImageName image) {
+    String name = image.asCanonicalNameString();
+    AtomicReference<CompletableFuture<Void>> created = new AtomicReference<>();
+    CompletableFuture<Void> submission =
+        pulls.computeIfAbsent(
+            name,
+            k -> {
+              CompletableFuture<Void> started = pull(image);
+              created.set(started);
+              return started;
+            });
+    CompletableFuture<Void> submitted = created.get();
+    if (submitted != null) {
+      // Forget failed pulls, so that a later container can try again
+      submitted.whenComplete(
+          (result, error) -> {
+            if (error != null) pulls.remove(name, submitted);
+          });
+    }
+    return submission;
+  }
+
+  /** Pulls an image in the background. */
+  private static CompletableFuture<Void> pull(DockerImageName image) {
+    return CompletableFuture.runAsync(
+        () -> {
+          long startTime = System.nanoTime();
+          new RemoteDockerImage(image).get();
+          log.debug(
+              "Image {} is available after {} ms",
+              image.asCanonicalNameString(),
+              (System.nanoTime() - startTime) / 1_000_000);
+        },
+        pullExecutor());
+  }
+
+  private static synchronized ExecutorService pullExecutor() {
+    if (pullExecutor == null) {
+      int parallelism = Runtime.getRuntime().availableProcessors();
+      AtomicInteger threadCount = new AtomicInteger();
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              parallelism,
+              parallelism,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              runnable -> {
+                Thread thread =
+                    new Thread(
+                        runnable, "spring-testcontainers-pull-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.allowCoreThreadTimeOut(true);
+      pullExecutor = executor;
+    }
+    return pullExecutor;
+  }
+}
@@ -0,0 +1,24 @@
+package io.flowinquiry.testcontainers;
+
+/**
+ * Scope of the isolated part of a shared container, such as a database, that a test gets for
+ * itself.
+ *
+ * <p>An isolated container is still shared between test classes, but every isolation unit has its
+ * application context configured with the properties of its own part of the container, obtained
+ * through {@link SpringAwareContainerProvider#isolate(java.util.Map, String)}. The part is released
+ * when the application context is closed.
+ */
+public enum ContainerIsolation {
+  /** All test classes use the whole container. */
+  NONE,
+
+  /** Every test class gets its own part of the container, and its own application context. */
+  PER_CLASS,
+
+  /**
+   * Every test method gets its own part of the container. The application context is closed after
+   * each test method, so the next method runs in a new context.
+   */
+  PER_METHOD
+}
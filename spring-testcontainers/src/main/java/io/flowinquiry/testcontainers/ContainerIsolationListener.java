@@ -0,0 +1,63 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.test.annotation.DirtiesContext.HierarchyMode;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+
+/**
+ * Spring {@link TestExecutionListener} giving every test method its own isolated part of the
+ * containers declared with {@link ContainerIsolation#PER_METHOD}.
+ *
+ * <p>The application context of such a test class is marked dirty after every test method, which
+ * closes it and releases its isolated part of the container. The next test method then runs in a
+ * new application context, configured with a new isolated part. Every test method therefore pays
+ * the startup of an application context.
+ *
+ * <p>The listener is registered automatically through {@code META-INF/spring.factories}.
+ */
+public class ContainerIsolationListener extends AbstractTestExecutionListener {
+
+  /**
+   * Order below the one of {@code DirtiesContextTestExecutionListener} (3000). After test methods,
+   * listeners run in reverse order, so the context is only closed once {@code
+   * TransactionalTestExecutionListener} (4000) has rolled back the transaction of the test method.
+   */
+  private static final int ORDER = 2900;
+
+  /** Whether a test class declares a container isolated per method, by test class. */
+  private static final Map<Class<?>, Boolean> isolatedPerMethod = new ConcurrentHashMap<>();
+
+  /** Default constructor. */
+  public ContainerIsolationListener() {}
+
+  @Override
+  public int getOrder() {
+    return ORDER;
+  }
+
+  /**
+   * Marks the application context dirty after a test method of a class declaring a container
+   * isolated per method.
+   *
+   * @param testContext the test context of the test method
+   */
+  @Override
+  public void afterTestMethod(TestContext testContext) {
+    Class<?> testClass = testContext.getTestClass();
+    if (isolatedPerMethod.computeIfAbsent(
+        testClass, ContainerIsolationListener::declaresPerMethod)) {
+      testContext.markApplicationContextDirty(HierarchyMode.CURRENT_LEVEL);
+      testContext.setAttribute(
+          DependencyInjectionTestExecutionListener.REINJECT_DEPENDENCIES_ATTRIBUTE, Boolean.TRUE);
+    }
+  }
+
+  private static boolean declaresPerMethod(Class<?> testClass) {
+    return ContainerDeclaration.of(testClass).stream()
+        .anyMatch(declaration -> declaration.key().isolation() == ContainerIsolation.PER_METHOD);
+  }
+}
@@ -0,0 +1,104 @@
+package io.flowinquiry.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+
+/**
+ * Configuration signature of a container declared by an {@code @EnableXxx} annotation.
+ *
+ * <p>Two test classes whose annotations resolve to the same key can safely share one container
+ * instance. The key is made of the resolved annotation type and all of its attribute values
+ * (including {@code dockerImage} and {@code version}), so any difference in configuration leads to
+ * a distinct container.
+ *
+ * <p>A key may optionally be scoped to a single test class. Scoped keys are never shared and their
+ * containers are stopped as soon as the owning test class releases them.
+ *
+ * @param annotationType the resolved annotation type (e.g., {@code EnableJdbcContainer})
+ * @param attributes the annotation attribute values, ordered by attribute name
+ * @param owner the test class this key is scoped to, or null if the key can be shared
+ */
+public record ContainerKey(
+    Class<? extends Annotation> annotationType, Map<String, Object> attributes, Class<?> owner) {
+
+  /**
+   * Creates a shareable key from the resolved container annotation.
+   *
+   * @param annotation the resolved annotation that enables and configures the container
+   * @return the container key
+   */
+  public static ContainerKey of(Annotation annotation) {
+    return new ContainerKey(annotation.annotationType(), readAttributes(annotation), null);
+  }
+
+  /**
+   * Creates a key from the resolved container annotation that is scoped to a single test class.
+   *
+   * @param annotation the resolved annotation that enables and configures the container
+   * @param owner the test class owning the container
+   * @return the container key
+   */
+  public static ContainerKey of(Annotation annotation, Class<?> owner) {
+    return new ContainerKey(annotation.annotationType(), readAttributes(annotation), owner);
+  }
+
+  /**
+   * Returns whether containers registered under this key may be shared between test classes.
+   *
+   * @return true if the key is not scoped to a test class
+   */
+  public boolean isShared() {
+    return owner == null;
+  }
+
+  /**
+   * Returns whether the container is started on first use rather than before its test class runs.
+   *
+   * @return true if the annotation has a lazy attribute set to true
+   */
+  public boolean isLazy() {
+    return Boolean.TRUE.equals(attributes.get("lazy"));
+  }
+
+  /**
+   * Returns the scope within which tests get their own isolated part of the container.
+   *
+   * @return the value of the isolation attribute, or {@link ContainerIsolation#NONE} if the
+   *     annotation has none
+   */
+  public ContainerIsolation isolation() {
+    return attributes.get("isolation") instanceof ContainerIsolation isolation
+        ? isolation
+        : ContainerIsolation.NONE;
+  }
+
+  /**
+   * Returns the Docker image name of the container.
+   *
+   * @return the Docker image name, or null if the annotation has no dockerImage attribute
+   */
+  public String dockerImage() {
+    return (String) attributes.get("dockerImage");
+  }
+
+  /**
+   * Returns the Docker image version of the container.
+   *
+   * @return the Docker image version, or null if the annotation has no version attribute
+   */
+  public String version() {
+    return (String) attributes.get("version");
+  }
+
+  @Override
+  public String toString() {
+    return "@"
+        + annotationType.getSimpleName()
+        + attributes
+        + (owner == null ? "" : " for " + owner.getName());
+  }
+
+  private static Map<String, Object> readAttributes(Annotation annotation) {
+    return AnnotationMetadata.of(annotation.annotationType()).getValues(annotation);
+  }
+}
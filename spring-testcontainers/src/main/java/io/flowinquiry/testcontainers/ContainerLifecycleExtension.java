@@ -1,6 +1,9 @@
 package io.flowinquiry.testcontainers;
 
 import java.lang.annotation.Annotation;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -11,6 +14,20 @@ import org.testcontainers.containers.GenericContainer;
 /**
  * Abstract base class for JUnit Jupiter extensions that manage the lifecycle of test containers.
  *
+ * <p>Containers are pooled in the {@link ContainerRegistry} by their {@link ContainerKey
+ * configuration signature}, so test classes declaring the same configuration share one container.
+ * Sharing can be turned off with the configuration parameter {@value
+ * ContainerSettings#SHARING_ENABLED}, in which case every test class gets its own container that is
+ * stopped after the class completes.
+ *
+ * <p>Extensions are stateless: the container acquired for a test class is kept in the class's
+ * {@link ExtensionContext.Store}, so the same extension instance can serve test classes running in
+ * parallel.
+ *
+ * <p>When the test class completes, the time it waited for its container and the durations of the
+ * container lifecycle phases are published as a JUnit report entry. Container starts and the
+ * attachment of test classes to containers are recorded in the {@link ContainerUsage usage report}.
+ *
  * @param <A> the annotation type that enables and configures the container
  */
 public abstract class ContainerLifecycleExtension<A extends Annotation>
@@ -18,8 +35,8 @@ public abstract class ContainerLifecycleExtension<A extends Annotation>
 
   private static final Logger log = LoggerFactory.getLogger(ContainerLifecycleExtension.class);
 
-  private SpringAwareContainerProvider<? extends Annotation, ? extends GenericContainer<?>>
-      provider;
+  /** Store key of the container acquired by this extension for the current test class. */
+  private static final String ACQUIRED_CONTAINER = "acquiredContainer";
 
   /**
    * Resolves the annotation that enables and configures the container from the test class.
@@ -41,6 +58,14 @@ public abstract class ContainerLifecycleExtension<A extends Annotation>
   /**
    * Executes before all tests in the test class.
    *
+   * <p>All containers declared on the test class are submitted for startup at once, so that they
+   * boot concurrently. The extension then waits only for its own container, whose sibling
+   * extensions find theirs already starting or running.
+   *
+   * <p>Containers declared as lazy are only registered here. They are started when the Spring
+   * environment first resolves one of their properties, or right away if their provider does not
+   * declare its properties.
+   *
    * @param context the extension context provided by JUnit
    */
   @Override
@@ -50,14 +75,37 @@ public abstract class ContainerLifecycleExtension<A extends Annotation>
 
     if (enableContainerAnnotation == null) return;
 
-    if (ContainerRegistry.contains(testClass)) {
-      this.provider = ContainerRegistry.get(testClass);
+    for (ContainerDeclaration declaration : ContainerDeclaration.of(testClass)) {
+      if (declaration.declaringClass() == testClass && !declaration.key().isLazy()) {
+        ContainerRegistry.prestart(
+            declaration.key(),
+            () ->
+                declaration
+                    .extension()
+                    .startProvider(declaration.key(), declaration.annotation(), testClass));
+      }
+    }
+
+    ContainerKey key = new ContainerDeclaration(this, enableContainerAnnotation, testClass).key();
+    long startTime = System.nanoTime();
+    ContainerHandle provider;
+    if (key.isLazy()) {
+      provider =
+          ContainerRegistry.acquireLazily(key, () -> initProvider(enableContainerAnnotation));
+      if (provider.getPropertyNames().isEmpty()) {
+        log.debug("Container {} does not declare its properties, starting it eagerly", key);
+        ContainerRegistry.start(key);
+      }
     } else {
-      this.provider = initProvider(enableContainerAnnotation);
-      log.debug("Starting container {} for test class: {}", provider, testClass.getName());
-      provider.start();
-      ContainerRegistry.set(testClass, provider);
+      provider =
+          ContainerRegistry.acquire(
+              key, () -> startProvider(key, enableContainerAnnotation, testClass));
     }
+    long waitNanos = System.nanoTime() - startTime;
+    ContainerTimings.recordAcquisition(testClass, key, waitNanos);
+    ContainerUsage.record(ContainerUsage.Action.ATTACH, key, testClass);
+    getStore(context).put(ACQUIRED_CONTAINER, new AcquiredContainer(key, provider, waitNanos));
+    ContainerRegistry.set(testClass, provider);
   }
 
   /**
@@ -67,13 +115,80 @@ public abstract class ContainerLifecycleExtension<A extends Annotation>
    */
   @Override
   public void afterAll(ExtensionContext context) {
-    if (provider != null) {
-      provider.stop();
-      ContainerRegistry.clear(context.getRequiredTestClass());
+    AcquiredContainer acquired =
+        getStore(context).remove(ACQUIRED_CONTAINER, AcquiredContainer.class);
+    if (acquired != null) {
+      publishTimings(context, acquired);
+      ContainerRegistry.clear(
+          context.getRequiredTestClass(), acquired.provider().getContainerType());
+      ContainerRegistry.release(acquired.key());
+      ContainerUsage.record(
+          ContainerUsage.Action.RELEASE, acquired.key(), context.getRequiredTestClass());
       log.debug(
-          "Stopped container {} for test class: {}",
-          provider,
+          "Released container {} for test class: {}",
+          acquired.key(),
           context.getRequiredTestClass().getName());
     }
   }
+
+  /**
+   * Publishes the time the test class waited for its container and the durations of the container
+   * lifecycle phases measured so far as a JUnit report entry.
+   */
+  private void publishTimings(ExtensionContext context, AcquiredContainer acquired) {
+    String prefix = "testcontainers." + acquired.provider().getContainerType() + ".";
+    Map<String, String> entry = new LinkedHashMap<>();
+    entry.put(prefix + "container", acquired.key().toString());
+    entry.put(prefix + "acquire.nanos", String.valueOf(acquired.waitNanos()));
+    acquired
+        .provider()
+        .getTimings()
+        .forEach(
+            (phase, nanos) ->
+                entry.put(
+                    prefix + phase.name().toLowerCase(Locale.ROOT) + ".nanos", nanos.toString()));
+    context.publishReportEntry(entry);
+  }
+
+  /**
+   * Returns the store holding the state of this extension type for the given context. Each
+   * extension type gets its own namespace, so that several container extensions on one test class
+   * do not overwrite each other's state.
+   */
+  private ExtensionContext.Store getStore(ExtensionContext context) {
+    return context.getStore(ExtensionContext.Namespace.create(getClass(), context.getUniqueId()));
+  }
+
+  /**
+   * Initializes and starts the container provider for an annotation resolved by this extension.
+   *
+   * <p>When {@link ContainerForks fork sharing} is enabled, a shareable container is started by the
+   * first test JVM needing it, and attached to by the others. Only the JVM starting it records a
+   * start in the usage report.
+   *
+   * @param key the configuration signature of the container
+   * @param annotation the resolved annotation containing container configuration
+   * @param testClass the test class requesting the container
+   * @return the handle of the started container
+   */
+  @SuppressWarnings("unchecked")
+  ContainerHandle startProvider(ContainerKey key, Annotation annotation, Class<?> testClass) {
+    SpringAwareContainerProvider<A, ? extends GenericContainer<?>> created =
+        initProvider((A) annotation);
+    if (key.isShared() && created.isForkShared()) {
+      log.debug("Starting fork-shared container {} for test class: {}", key, testClass.getName());
+      ForkAttachment attachment = ContainerForks.start(key, created);
+      if (attachment.isOwner()) {
+        ContainerUsage.record(ContainerUsage.Action.START, key, testClass);
+      }
+      return attachment;
+    }
+    log.debug("Starting container {} for test class: {}", created, testClass.getName());
+    created.start();
+    ContainerUsage.record(ContainerUsage.Action.START, key, testClass);
+    return created;
+  }
+
+  /** A container reference acquired from the registry for a test class. */
+  private record AcquiredContainer(ContainerKey key, ContainerHandle provider, long waitNanos) {}
 }
@@ -0,0 +1,40 @@
+package io.flowinquiry.testcontainers;
+
+/**
+ * Phases of the lifecycle of a container whose duration is measured by {@link
+ * SpringAwareContainerProvider}.
+ *
+ * <p>The timings of every phase are published as JUnit report entries and summarized per container
+ * type and per test class at the end of a test run (see {@link ContainerTimings}).
+ */
+public enum ContainerPhase {
+  /** Creation and configuration of the container instance. */
+  INIT,
+
+  /** Pull of the container image, or wait for its {@link ContainerImages prefetch}. */
+  PULL,
+
+  /** Wait for the {@link ContainerAdmission admission} of the container startup. */
+  ADMISSION,
+
+  /** Start of the container, including its wait strategy. */
+  START,
+
+  /** Pull of an AI model into a running Ollama container. */
+  MODEL_PULL,
+
+  /** Run of the schema migrations in a running database container. */
+  MIGRATE,
+
+  /** Commit of the initialized container to a snapshot image. */
+  SNAPSHOT,
+
+  /** Application of the container properties to a Spring environment. */
+  APPLY,
+
+  /** Creation of the {@link ContainerIsolation isolated} part of a container for a test. */
+  ISOLATE,
+
+  /** Stop of the container. */
+  STOP;
+}
@@ -0,0 +1,30 @@
+package io.flowinquiry.testcontainers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a lifecycle phase of a container, such as its creation, start,
+ * stop, an Ollama model pull or the application of its properties to a Spring environment.
+ */
+@Name("io.flowinquiry.testcontainers.ContainerPhase")
+@Label("Container Phase")
+@Category({"Spring Testcontainers", "Container"})
+@Description("A lifecycle phase of a test container")
+final class ContainerPhaseEvent extends Event {
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Container Type")
+  String containerType;
+
+  @Label("Image")
+  String image;
+
+  @Label("Version")
+  String version;
+}
@@ -1,46 +1,134 @@
 package io.flowinquiry.testcontainers;
 
-import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A registry for managing container providers associated with test classes.
  *
- * <p>This utility class maintains a thread-safe mapping between test classes and their
- * corresponding container providers. It allows for container reuse across test executions and
- * ensures proper container lifecycle management.
+ * <p>This utility class maintains a thread-safe mapping between test classes and the {@link
+ * ContainerHandle handles} of their containers, one per {@link ContainerType}. A handle is the
+ * {@link SpringAwareContainerProvider provider} of a container started by this JVM, or the
+ * attachment to a container shared with other test JVMs through {@link ContainerForks}. It allows
+ * for container reuse across test executions and ensures proper container lifecycle management.
+ *
+ * <p>Besides the per test class mapping, the registry keeps a pool of running containers keyed by
+ * their {@link ContainerKey configuration signature}. Test classes declaring the same container
+ * configuration share one reference-counted container. A shared container is stopped when its last
+ * user releases it, unless a JUnit launcher session is open; in that case the container stays
+ * available for later test classes and is stopped when the session ends, or once it has been idle
+ * for the number of seconds given by the configuration parameter {@value #IDLE_TIMEOUT}.
+ *
+ * <p>References are held both by the test classes declaring a container and by the Spring
+ * application contexts configured with it, so a container outlives its test class for as long as a
+ * cached context still points at it.
+ *
+ * <p>Containers declared as lazy are registered without being started, and are started by the first
+ * call to {@link #start(ContainerKey)}, typically when the Spring environment resolves one of their
+ * properties.
+ *
+ * <p>Containers are started on a bounded pool of background threads, so that several containers
+ * needed by a test class boot concurrently. The pool size defaults to the number of available
+ * processors and can be changed with the configuration parameter {@value #STARTUP_PARALLELISM}.
+ *
+ * <p>Lookups of pooled containers are emitted as Java Flight Recorder events, telling hits from
+ * misses, while a recording is running.
  *
  * <p>The registry is used by {@link ContainerLifecycleExtension} to track active containers and
- * prevent duplicate container creation for the same test class.
+ * prevent duplicate container creation for the same configuration.
  */
 public final class ContainerRegistry {
 
+  /** Configuration parameter limiting the number of containers started at the same time. */
+  public static final String STARTUP_PARALLELISM = "flowinquiry.testcontainers.startup.parallelism";
+
+  /**
+   * Configuration parameter setting the number of seconds after which a shared container that is no
+   * longer used is stopped, even though the launcher session is still open. Idle containers are
+   * kept until the session ends if it is not set.
+   */
+  public static final String IDLE_TIMEOUT = "flowinquiry.testcontainers.idle.timeout";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerRegistry.class);
+
   /** Thread-safe map storing the association between test classes and their container providers. */
-  private static final Map<Class<?>, SpringAwareContainerProvider<? extends Annotation, ?>>
-      providers = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Map<ContainerType, ContainerHandle>> providers =
+      new ConcurrentHashMap<>();
+
+  /** Pool of containers keyed by configuration signature. */
+  private static final Map<ContainerKey, SharedContainer> sharedContainers =
+      new ConcurrentHashMap<>();
+
+  /** Number of currently open launcher sessions. */
+  private static final AtomicInteger openSessions = new AtomicInteger();
+
+  /** Executor starting containers in the background, created on first use. */
+  private static ExecutorService startupExecutor;
+
+  /** Executor stopping idle containers after the idle timeout, created on first use. */
+  private static ScheduledExecutorService idleExecutor;
 
   /** Private constructor to prevent instantiation of this utility class. */
   private ContainerRegistry() {}
 
   /**
-   * Associates a container provider with a test class in the registry.
+   * Associates a container provider with a test class in the registry. A test class holds at most
+   * one provider per {@link ContainerType}.
    *
    * @param testClass the test class to associate with the provider
    * @param provider the container provider to register
    */
-  public static void set(Class<?> testClass, SpringAwareContainerProvider<?, ?> provider) {
-    providers.put(testClass, provider);
+  public static void set(Class<?> testClass, ContainerHandle provider) {
+    providers.compute(
+        testClass,
+        (k, classProviders) -> {
+          Map<ContainerType, ContainerHandle> updated =
+              classProviders == null ? new ConcurrentHashMap<>() : classProviders;
+          updated.put(provider.getContainerType(), provider);
+          return updated;
+        });
   }
 
   /**
-   * Retrieves the container provider associated with a test class.
+   * Retrieves the container provider of the given type associated with a test class.
    *
    * @param testClass the test class whose provider should be retrieved
+   * @param containerType the type of container
    * @return the container provider associated with the test class, or null if none exists
    */
-  public static SpringAwareContainerProvider<? extends Annotation, ?> get(Class<?> testClass) {
-    return providers.get(testClass);
+  public static ContainerHandle get(Class<?> testClass, ContainerType containerType) {
+    Map<ContainerType, ContainerHandle> classProviders = providers.get(testClass);
+    return classProviders == null ? null : classProviders.get(containerType);
+  }
+
+  /**
+   * Retrieves all container providers associated with a test class.
+   *
+   * @param testClass the test class whose providers should be retrieved
+   * @return the container providers associated with the test class, ordered by container type
+   */
+  public static Collection<ContainerHandle> getAll(Class<?> testClass) {
+    Map<ContainerType, ContainerHandle> classProviders = providers.get(testClass);
+    return classProviders == null ? List.of() : new EnumMap<>(classProviders).values();
   }
 
   /**
@@ -50,23 +138,494 @@ public final class ContainerRegistry {
    * @return true if a container provider is registered for the test class, false otherwise
    */
   public static boolean contains(Class<?> testClass) {
-    return providers.containsKey(testClass);
+    Map<ContainerType, ContainerHandle> classProviders = providers.get(testClass);
+    return classProviders != null && !classProviders.isEmpty();
   }
 
   /**
-   * Removes the container provider associated with a test class from the registry.
+   * Removes the container provider of the given type associated with a test class.
    *
    * @param testClass the test class whose provider should be removed
+   * @param containerType the type of container
+   */
+  public static void clear(Class<?> testClass, ContainerType containerType) {
+    providers.computeIfPresent(
+        testClass,
+        (k, classProviders) -> {
+          classProviders.remove(containerType);
+          return classProviders.isEmpty() ? null : classProviders;
+        });
+  }
+
+  /**
+   * Removes all container providers associated with a test class from the registry.
+   *
+   * @param testClass the test class whose providers should be removed
    */
   public static void clear(Class<?> testClass) {
     providers.remove(testClass);
   }
 
   /**
-   * Removes all container providers from the registry. This method is typically used during cleanup
-   * to ensure no containers remain registered.
+   * Retrieves the started container provider registered under a configuration signature.
+   *
+   * @param key the configuration signature of the container
+   * @return the container provider registered under the key, or null if none exists or it has not
+   *     finished starting
+   */
+  public static ContainerHandle get(ContainerKey key) {
+    SharedContainer shared = sharedContainers.get(key);
+    if (shared == null || !shared.startup.isDone() || shared.startup.isCompletedExceptionally()) {
+      return null;
+    }
+    return shared.startup.join();
+  }
+
+  /**
+   * Starts the container for the given key in the background without acquiring a reference to it.
+   * Does nothing if a container is already registered for the key.
+   *
+   * <p>Once started, the container is stopped after the idle timeout unless it has been acquired
+   * meanwhile, like a container whose last reference has been released.
+   *
+   * @param key the configuration signature of the container
+   * @param factory creates and starts the container provider
+   */
+  public static void prestart(ContainerKey key, Supplier<? extends ContainerHandle> factory) {
+    RegistryLookupEvent event = new RegistryLookupEvent();
+    event.begin();
+    SharedContainer[] created = new SharedContainer[1];
+    sharedContainers.computeIfAbsent(key, k -> created[0] = submitStartup(factory));
+    if (created[0] != null) {
+      dropOnFailure(key, created[0]);
+      SharedContainer prestarted = created[0];
+      prestarted.startup.thenRun(
+          () ->
+              sharedContainers.computeIfPresent(
+                  key,
+                  (k, shared) -> {
+                    if (shared == prestarted && shared.references == 0) {
+                      scheduleIdleStop(key, shared);
+                    }
+                    return shared;
+                  }));
+    }
+    commitLookup(event, "prestart", key, created[0] == null, null);
+  }
+
+  /**
+   * Acquires a reference to the container registered under the given key, waiting until it has
+   * started.
+   *
+   * <p>If no container is registered for the key yet, the factory is invoked in the background to
+   * create and start one. Concurrent callers with the same key atomically obtain the same startup
+   * future, so a container is never started twice. Every successful call must be balanced by a call
+   * to {@link #release(ContainerKey)}.
+   *
+   * @param key the configuration signature of the container
+   * @param factory creates and starts the container provider if none is registered for the key
+   * @return the started container provider registered under the key
+   */
+  public static ContainerHandle acquire(
+      ContainerKey key, Supplier<? extends ContainerHandle> factory) {
+    RegistryLookupEvent event = new RegistryLookupEvent();
+    event.begin();
+    SharedContainer[] created = new SharedContainer[1];
+    SharedContainer shared =
+        sharedContainers.compute(
+            key,
+            (k, existing) -> {
+              SharedContainer current = existing;
+              if (current == null) {
+                current = created[0] = submitStartup(factory);
+              } else {
+                log.debug("Reusing container for configuration {}", key);
+                current.cancelIdleStop();
+              }
+              current.references++;
+              return current;
+            });
+    if (created[0] != null) {
+      dropOnFailure(key, created[0]);
+    }
+
+    try {
+      ContainerHandle provider = shared.startup.join();
+      commitLookup(event, "acquire", key, created[0] == null, provider);
+      return provider;
+    } catch (CompletionException e) {
+      commitLookup(event, "acquire", key, created[0] == null, null);
+      sharedContainers.computeIfPresent(
+          key,
+          (k, current) -> {
+            current.references--;
+            return current;
+          });
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  /**
+   * Acquires an additional reference to a container that has already been started or is registered
+   * to be started lazily, without waiting and without starting a new one.
+   *
+   * @param key the configuration signature of the container
+   * @return the container provider registered under the key, which is not started yet for a lazy
+   *     container, or null if none exists or it has not finished starting, in which case no
+   *     reference is acquired
+   */
+  public static ContainerHandle retain(ContainerKey key) {
+    RegistryLookupEvent event = new RegistryLookupEvent();
+    event.begin();
+    SharedContainer shared =
+        sharedContainers.computeIfPresent(
+            key,
+            (k, current) -> {
+              if (current.isAvailable()) {
+                current.cancelIdleStop();
+                current.references++;
+              }
+              return current;
+            });
+    ContainerHandle provider = shared == null || !shared.isAvailable() ? null : shared.provider();
+    commitLookup(event, "retain", key, provider != null, provider);
+    return provider;
+  }
+
+  /**
+   * Retrieves the container provider registered under a configuration signature, like {@link
+   * #retain(ContainerKey)} but without acquiring a reference.
+   *
+   * @param key the configuration signature of the container
+   * @return the container provider registered under the key, which is not started yet for a lazy
+   *     container, or null if none exists or it has not finished starting
+   */
+  static ContainerHandle find(ContainerKey key) {
+    SharedContainer shared = sharedContainers.get(key);
+    return shared == null || !shared.isAvailable() ? null : shared.provider();
+  }
+
+  /**
+   * Registers a lazily started container under the given key and acquires a reference to it,
+   * without starting the container.
+   *
+   * <p>If no container is registered for the key yet, the factory is invoked to create an unstarted
+   * provider. The container is started by the first call to {@link #start(ContainerKey)}. Every
+   * successful call must be balanced by a call to {@link #release(ContainerKey)}.
+   *
+   * @param key the configuration signature of the container
+   * @param factory creates the container provider without starting it
+   * @return the container provider registered under the key, which may not be started yet
+   */
+  public static ContainerHandle acquireLazily(
+      ContainerKey key, Supplier<? extends SpringAwareContainerProvider<?, ?>> factory) {
+    RegistryLookupEvent event = new RegistryLookupEvent();
+    event.begin();
+    SharedContainer[] created = new SharedContainer[1];
+    SharedContainer shared =
+        sharedContainers.compute(
+            key,
+            (k, existing) -> {
+              SharedContainer current = existing;
+              if (current == null) {
+                current = created[0] = new SharedContainer(factory.get());
+              } else {
+                current.cancelIdleStop();
+              }
+              current.references++;
+              return current;
+            });
+    if (created[0] != null) {
+      dropOnFailure(key, created[0]);
+    }
+    ContainerHandle provider = shared.provider();
+    commitLookup(event, "acquireLazily", key, created[0] == null, provider);
+    return provider;
+  }
+
+  /**
+   * Starts the lazily registered container under the given key if it has not been started yet, and
+   * waits until it is running. Concurrent callers wait for the same startup.
+   *
+   * @param key the configuration signature of the container
+   * @return the started container provider registered under the key
+   * @throws IllegalStateException if no container is registered for the key
+   */
+  public static ContainerHandle start(ContainerKey key) {
+    boolean[] triggered = new boolean[1];
+    SharedContainer shared =
+        sharedContainers.computeIfPresent(
+            key,
+            (k, current) -> {
+              triggered[0] = current.startPending;
+              current.startPending = false;
+              return current;
+            });
+    if (shared == null) {
+      throw new IllegalStateException("No container is registered for configuration " + key);
+    }
+
+    if (triggered[0]) {
+      log.info("Starting lazy container {} on first use", key);
+      try {
+        shared.lazyProvider.start();
+        ContainerUsage.record(ContainerUsage.Action.START, key, null);
+        shared.startup.complete(shared.lazyProvider);
+      } catch (RuntimeException e) {
+        shared.startup.completeExceptionally(e);
+      }
+    }
+
+    try {
+      return shared.startup.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  /**
+   * Releases a reference previously obtained through {@link #acquire(ContainerKey, Supplier)} or
+   * {@link #retain(ContainerKey)}.
+   *
+   * <p>When the last reference is released, the container is stopped unless it is shareable and a
+   * launcher session is still open. In that case it is kept for later test classes, or stopped
+   * after the idle timeout if one is configured.
+   *
+   * @param key the configuration signature of the container
+   */
+  public static void release(ContainerKey key) {
+    SharedContainer[] removed = new SharedContainer[1];
+    sharedContainers.computeIfPresent(
+        key,
+        (k, shared) -> {
+          if (--shared.references > 0) return shared;
+
+          if (key.isShared() && openSessions.get() > 0) {
+            scheduleIdleStop(key, shared);
+            return shared;
+          }
+          removed[0] = shared;
+          return null;
+        });
+
+    if (removed[0] != null) {
+      stop(key, removed[0]);
+    }
+  }
+
+  /**
+   * Removes all container providers from the registry and stops every pooled container. This method
+   * is typically used during cleanup to ensure no containers remain registered.
    */
   public static void clearAll() {
+    Map<ContainerKey, SharedContainer> toStop = new LinkedHashMap<>();
+    for (ContainerKey key : List.copyOf(sharedContainers.keySet())) {
+      SharedContainer shared = sharedContainers.remove(key);
+      if (shared != null) toStop.put(key, shared);
+    }
     providers.clear();
+
+    toStop.forEach(
+        (key, shared) -> {
+          shared.cancelIdleStop();
+          try {
+            stop(key, shared);
+          } catch (RuntimeException e) {
+            log.warn("Failed to stop container {}", key, e);
+          }
+        });
+  }
+
+  /** Marks the beginning of a launcher session. Idle shared containers are kept until it ends. */
+  static void sessionOpened() {
+    openSessions.incrementAndGet();
+  }
+
+  /**
+   * Marks the end of a launcher session and stops all containers once no session remains open.
+   *
+   * @return true if the last open session has ended
+   */
+  static boolean sessionClosed() {
+    if (openSessions.decrementAndGet() == 0) {
+      clearAll();
+      return true;
+    }
+    return false;
+  }
+
+  /** Emits a registry lookup as a Java Flight Recorder event if a recording is running. */
+  private static void commitLookup(
+      RegistryLookupEvent event,
+      String operation,
+      ContainerKey key,
+      boolean hit,
+      ContainerHandle provider) {
+    if (event.shouldCommit()) {
+      event.describe(operation, key, hit, provider);
+      event.commit();
+    }
+  }
+
+  /**
+   * Schedules the stop of a container no longer used after the idle timeout, if one is configured.
+   * Is called inside an atomic map operation on the container's key.
+   */
+  private static void scheduleIdleStop(ContainerKey key, SharedContainer shared) {
+    Optional<Duration> idleTimeout = idleTimeout();
+    if (idleTimeout.isPresent()) {
+      log.debug("Stopping idle container {} in {}", key, idleTimeout.get());
+      shared.cancelIdleStop();
+      shared.idleStop =
+          idleExecutor()
+              .schedule(
+                  () -> stopIfIdle(key, shared),
+                  idleTimeout.get().toMillis(),
+                  TimeUnit.MILLISECONDS);
+    } else {
+      log.debug("Keeping idle container {} until the launcher session ends", key);
+    }
+  }
+
+  /** Stops a container whose idle timeout has elapsed, unless it has been acquired again. */
+  private static void stopIfIdle(ContainerKey key, SharedContainer idle) {
+    boolean removed =
+        sharedContainers.computeIfPresent(
+                key, (k, shared) -> shared == idle && shared.references == 0 ? null : shared)
+            == null;
+    if (removed) {
+      log.debug("Idle timeout of container {} elapsed", key);
+      stop(key, idle);
+    }
+  }
+
+  /** Stops a container that has been removed from the pool, unless it was never started. */
+  private static void stop(ContainerKey key, SharedContainer shared) {
+    if (shared.startPending) {
+      log.debug("Lazy container {} was never started", key);
+      return;
+    }
+    ContainerHandle provider = shared.startup.join();
+    provider.stop();
+    ContainerUsage.record(ContainerUsage.Action.STOP, key, null);
+    log.debug("Stopped container {} for configuration {}", provider, key);
+  }
+
+  private static Optional<Duration> idleTimeout() {
+    return ContainerSettings.get(IDLE_TIMEOUT)
+        .map(String::trim)
+        .map(Long::parseLong)
+        .map(Duration::ofSeconds);
+  }
+
+  /** Submits the startup of a container to the startup executor. */
+  private static SharedContainer submitStartup(Supplier<? extends ContainerHandle> factory) {
+    return new SharedContainer(
+        CompletableFuture.<ContainerHandle>supplyAsync(factory::get, startupExecutor()));
+  }
+
+  /**
+   * Drops a container from the pool if its startup fails, so that a later acquisition can retry. Is
+   * called after the container has been put into the pool, as the callback may run immediately.
+   */
+  private static void dropOnFailure(ContainerKey key, SharedContainer shared) {
+    shared.startup.whenComplete(
+        (provider, error) -> {
+          if (error != null) {
+            log.error("Failed to start container {}", key, error);
+            sharedContainers.remove(key, shared);
+          }
+        });
+  }
+
+  private static synchronized ExecutorService startupExecutor() {
+    if (startupExecutor == null) {
+      int parallelism =
+          ContainerSettings.get(STARTUP_PARALLELISM)
+              .map(String::trim)
+              .map(Integer::parseInt)
+              .orElse(Runtime.getRuntime().availableProcessors());
+      AtomicInteger threadCount = new AtomicInteger();
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              parallelism,
+              parallelism,
+              30,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              runnable -> {
+                Thread thread =
+                    new Thread(
+                        runnable, "spring-testcontainers-startup-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.allowCoreThreadTimeOut(true);
+      startupExecutor = executor;
+    }
+    return startupExecutor;
+  }
+
+  private static synchronized ScheduledExecutorService idleExecutor() {
+    if (idleExecutor == null) {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "spring-testcontainers-idle");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      idleExecutor = executor;
+    }
+    return idleExecutor;
+  }
+
+  /**
+   * A pooled container together with the number of test classes and application contexts currently
+   * using it. The reference count and the idle stop are only updated inside atomic map operations
+   * on the container's key.
+   */
+  private static final class SharedContainer {
+    private final CompletableFuture<ContainerHandle> startup;
+    private int references;
+    private ScheduledFuture<?> idleStop;
+
+    /** The provider of a lazily started container, null for eagerly started containers. */
+    private final SpringAwareContainerProvider<?, ?> lazyProvider;
+
+    /** Whether the lazily started container is still waiting for its first use. */
+    private boolean startPending;
+
+    private SharedContainer(CompletableFuture<ContainerHandle> startup) {
+      this.startup = startup;
+      this.lazyProvider = null;
+    }
+
+    private SharedContainer(SpringAwareContainerProvider<?, ?> lazyProvider) {
+      this.startup = new CompletableFuture<>();
+      this.lazyProvider = lazyProvider;
+      this.startPending = true;
+    }
+
+    /** Whether the container is started, or registered to be started lazily and has not failed. */
+    private boolean isAvailable() {
+      return lazyProvider != null
+          ? !startup.isCompletedExceptionally()
+          : startup.isDone() && !startup.isCompletedExceptionally();
+    }
+
+    /** Returns the provider of a lazy container, or waits for an eagerly started one. */
+    private ContainerHandle provider() {
+      return lazyProvider != null ? lazyProvider : startup.join();
+    }
+
+    private void cancelIdleStop() {
+      if (idleStop != null) {
+        idleStop.cancel(false);
+        idleStop = null;
+      }
+    }
   }
 }
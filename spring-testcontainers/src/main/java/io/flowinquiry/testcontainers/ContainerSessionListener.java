@@ -0,0 +1,42 @@
+package io.flowinquiry.testcontainers;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * JUnit Platform {@link LauncherSessionListener} that bounds the lifetime of shared containers.
+ *
+ * <p>While a launcher session is open, containers pooled in the {@link ContainerRegistry} are kept
+ * running after their last test class releases them, so that test classes executed later with the
+ * same configuration can reuse them. When the session is closed, all pooled containers are stopped
+ * and the summary of the {@link ContainerTimings container timings} and the {@link ContainerUsage
+ * container usage} report of the run are written.
+ *
+ * <p>The listener is registered automatically through the Java ServiceLoader mechanism.
+ */
+public class ContainerSessionListener implements LauncherSessionListener {
+
+  /**
+   * Called when a launcher session is opened.
+   *
+   * @param session the opened session
+   */
+  @Override
+  public void launcherSessionOpened(LauncherSession session) {
+    ContainerRegistry.sessionOpened();
+  }
+
+  /**
+   * Called when a launcher session is closed. Stops all pooled containers and writes the timing
+   * summary and usage report once no other session is open.
+   *
+   * @param session the closed session
+   */
+  @Override
+  public void launcherSessionClosed(LauncherSession session) {
+    if (ContainerRegistry.sessionClosed()) {
+      ContainerTimings.writeReport();
+      ContainerUsage.writeReport();
+    }
+  }
+}
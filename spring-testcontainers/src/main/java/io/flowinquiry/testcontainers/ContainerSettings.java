@@ -0,0 +1,72 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.Optional;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * Access to the configuration parameters of spring-testcontainers.
+ *
+ * <p>Settings are read from the JUnit Platform configuration parameters (for example {@code
+ * junit-platform.properties}) of the running test plan. When no test plan is running, or a
+ * parameter is not set there, JVM system properties are consulted instead.
+ *
+ * <p>The parameters are captured by {@link ContainerTestExecutionListener} when the test plan
+ * starts executing, so they are also available to components that have no access to a JUnit
+ * extension context, such as Spring context customizers. A test plan launched from within a test of
+ * another one restores the parameters of the other test plan once it has been executed.
+ */
+public final class ContainerSettings {
+
+  /** Configuration parameter that enables sharing containers between test classes. */
+  public static final String SHARING_ENABLED = "flowinquiry.testcontainers.sharing.enabled";
+
+  private static volatile ConfigurationParameters parameters;
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerSettings() {}
+
+  /**
+   * Returns the value of a configuration parameter.
+   *
+   * @param key the parameter key
+   * @return the parameter value, or an empty optional if the parameter is not set
+   */
+  public static Optional<String> get(String key) {
+    ConfigurationParameters current = parameters;
+    Optional<String> value = current == null ? Optional.empty() : current.get(key);
+    return value.isPresent() ? value : Optional.ofNullable(System.getProperty(key));
+  }
+
+  /**
+   * Returns the value of a boolean configuration parameter.
+   *
+   * @param key the parameter key
+   * @param defaultValue the value to use when the parameter is not set
+   * @return the parameter value
+   */
+  public static boolean getBoolean(String key, boolean defaultValue) {
+    return get(key).map(String::trim).map(Boolean::parseBoolean).orElse(defaultValue);
+  }
+
+  /**
+   * Returns whether containers with the same configuration are shared between test classes.
+   *
+   * @return true unless {@value #SHARING_ENABLED} is set to false
+   */
+  public static boolean isSharingEnabled() {
+    return getBoolean(SHARING_ENABLED, true);
+  }
+
+  /**
+   * Captures the configuration parameters of the test plan that is about to be executed.
+   *
+   * @param configurationParameters the configuration parameters of the test plan
+   * @return the configuration parameters captured before, to be restored once the test plan has
+   *     been executed
+   */
+  static ConfigurationParameters configure(ConfigurationParameters configurationParameters) {
+    ConfigurationParameters previous = parameters;
+    parameters = configurationParameters;
+    return previous;
+  }
+}
@@ -0,0 +1,109 @@
+package io.flowinquiry.testcontainers;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Docker operations behind the snapshot mode of {@link SpringAwareContainerProvider}.
+ *
+ * <p>A snapshot is a local image committed from a container after its first successful
+ * initialization. Its tag is a hash of what determines the initialized state: the base image
+ * reference and the initialization inputs declared by the provider, such as the content of init
+ * scripts. A change in any of them leads to a new tag, so outdated snapshots are never used. Other
+ * annotation attributes, such as resource limits or isolation, only affect how a container runs and
+ * are left out, so that test classes differing only in them share their snapshot.
+ *
+ * <p>The base image is identified by its name and version only, as resolving its id would require
+ * pulling it even when a snapshot exists. Snapshots of floating versions such as {@code latest} are
+ * therefore not refreshed when a newer base image is published; pinned versions avoid this.
+ */
+final class ContainerSnapshots {
+
+  /** Repository prefix of all snapshot images. */
+  static final String REPOSITORY_PREFIX = "spring-testcontainers-snapshot/";
+
+  /** Label marking snapshot images, so that they can be found and pruned. */
+  static final String SNAPSHOT_LABEL = "io.flowinquiry.testcontainers.snapshot";
+
+  /**
+   * Label used by Testcontainers to find the resources to remove at the end of a session. Committed
+   * images inherit it from their container, so it is overridden to keep the snapshot.
+   */
+  private static final String SESSION_LABEL = "org.testcontainers.sessionId";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerSnapshots.class);
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerSnapshots() {}
+
+  /**
+   * Computes the name of the snapshot image of a container.
+   *
+   * @param containerType the type of the container
+   * @param baseImage the base image reference of the container, including its version
+   * @param inputs the initialization inputs declared by the provider
+   * @return the snapshot image name
+   */
+  static String imageName(ContainerType containerType, String baseImage, List<String> inputs) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      update(digest, baseImage);
+      for (String input : inputs) {
+        update(digest, input);
+      }
+      String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+      return REPOSITORY_PREFIX + containerType.name().toLowerCase(Locale.ROOT) + ":" + hash;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+
+  /**
+   * Checks whether an image exists in the local Docker image cache.
+   *
+   * @param image the image name
+   * @return true if the image exists locally
+   */
+  static boolean exists(String image) {
+    try {
+      DockerClientFactory.lazyClient().inspectImageCmd(image).exec();
+      return true;
+    } catch (NotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Commits a running container to a snapshot image.
+   *
+   * @param container the initialized container
+   * @param image the snapshot image name
+   */
+  static void commit(GenericContainer<?> container, String image) {
+    int separator = image.lastIndexOf(':');
+    DockerClientFactory.lazyClient()
+        .commitCmd(container.getContainerId())
+        .withRepository(image.substring(0, separator))
+        .withTag(image.substring(separator + 1))
+        .withLabels(Map.of(SNAPSHOT_LABEL, "true", SESSION_LABEL, ""))
+        .exec();
+    log.info("Committed the initialized container to snapshot image {}", image);
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) ':');
+    digest.update(bytes);
+  }
+}
@@ -0,0 +1,139 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JUnit Platform {@link TestExecutionListener} that prepares spring-testcontainers for the
+ * execution of a test plan.
+ *
+ * <p>When the test plan starts, its configuration parameters are captured in {@link
+ * ContainerSettings}. The listener then scans every test class of the plan for container
+ * declarations (see {@link ContainerDeclaration}) and starts the distinct containers in the
+ * background, so that they are already booting or running when the first test class needing them is
+ * executed. Their images are {@link ContainerImages prefetched} beforehand, all at once. Containers
+ * declared as lazy are left alone. The warm-up can be disabled with the configuration parameter
+ * {@value #WARMUP_ENABLED}.
+ *
+ * <p>Only as many containers as the {@link ContainerAdmission startup admission} currently lets
+ * start at the same time are warmed up, the first ones in the order of the test plan, so that the
+ * warm-up does not hold back the startups of the test classes running first. The other containers
+ * are started when their first test class needs them. Warmed up containers that no test class
+ * acquires are stopped after the {@link ContainerRegistry#IDLE_TIMEOUT idle timeout}.
+ *
+ * <p>The listener is registered automatically through the Java ServiceLoader mechanism.
+ */
+public class ContainerTestExecutionListener implements TestExecutionListener {
+
+  /** Configuration parameter that enables starting the containers of the test plan eagerly. */
+  public static final String WARMUP_ENABLED = "flowinquiry.testcontainers.warmup.enabled";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerTestExecutionListener.class);
+
+  /** The configuration parameters captured before the test plan started executing. */
+  private ConfigurationParameters previousParameters;
+
+  /**
+   * Called when the execution of the test plan has started, before any test has been executed.
+   *
+   * @param testPlan the test plan about to be executed
+   */
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    previousParameters = ContainerSettings.configure(testPlan.getConfigurationParameters());
+
+    Map<ContainerKey, ContainerDeclaration> declarations = findDeclarations(testPlan);
+    ContainerImages.prefetch(
+        declarations.keySet().stream()
+            .filter(key -> key.dockerImage() != null && !key.dockerImage().isEmpty())
+            .map(key -> key.dockerImage() + ":" + key.version())
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+    if (ContainerSettings.getBoolean(WARMUP_ENABLED, true)) {
+      warmUp(declarations);
+    }
+  }
+
+  /**
+   * Called when the execution of the test plan has finished. If the test plan was launched from
+   * within a test of another one, the configuration parameters of the other test plan are restored.
+   * Otherwise the parameters are kept, for the end of the launcher session.
+   *
+   * @param testPlan the test plan that has been executed
+   */
+  @Override
+  public void testPlanExecutionFinished(TestPlan testPlan) {
+    if (previousParameters != null) {
+      ContainerSettings.configure(previousParameters);
+      previousParameters = null;
+    }
+  }
+
+  /**
+   * Finds the distinct containers declared by the test classes of the plan, except lazy ones.
+   *
+   * @param testPlan the test plan about to be executed
+   * @return the container declarations, by configuration signature
+   */
+  private Map<ContainerKey, ContainerDeclaration> findDeclarations(TestPlan testPlan) {
+    Map<ContainerKey, ContainerDeclaration> declarations = new LinkedHashMap<>();
+
+    Deque<TestIdentifier> pending = new ArrayDeque<>(testPlan.getRoots());
+    while (!pending.isEmpty()) {
+      TestIdentifier identifier = pending.poll();
+      pending.addAll(testPlan.getChildren(identifier));
+
+      if (identifier.getSource().orElse(null) instanceof ClassSource classSource) {
+        try {
+          for (ContainerDeclaration declaration :
+              ContainerDeclaration.of(classSource.getJavaClass())) {
+            if (!declaration.key().isLazy()) {
+              declarations.putIfAbsent(declaration.key(), declaration);
+            }
+          }
+        } catch (RuntimeException e) {
+          log.debug("Skipping container warm-up for {}", classSource.getClassName(), e);
+        }
+      }
+    }
+    return declarations;
+  }
+
+  /**
+   * Starts the first of the given containers in the background, up to the admission limit.
+   *
+   * @param declarations the container declarations, by configuration signature
+   */
+  private void warmUp(Map<ContainerKey, ContainerDeclaration> declarations) {
+    int limit = ContainerAdmission.currentLimit();
+    if (declarations.size() > limit) {
+      log.debug("Warming up {} of {} containers", limit, declarations.size());
+    }
+    declarations.values().stream()
+        .limit(limit)
+        .forEach(
+            declaration -> {
+              log.debug("Warming up container {}", declaration.key());
+              ContainerRegistry.prestart(
+                  declaration.key(),
+                  () ->
+                      declaration
+                          .extension()
+                          .startProvider(
+                              declaration.key(),
+                              declaration.annotation(),
+                              declaration.declaringClass()));
+            });
+  }
+}
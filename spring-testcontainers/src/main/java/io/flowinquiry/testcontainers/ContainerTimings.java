@@ -0,0 +1,209 @@
+package io.flowinquiry.testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the durations of the {@link ContainerPhase lifecycle phases} of all containers and the
+ * time test classes spend waiting for their containers during a test run.
+ *
+ * <p>When the last launcher session ends, a JSON summary aggregating the timings per container type
+ * and per test class is written to the directory given by the configuration parameter {@value
+ * #REPORT_DIR}, {@code build/spring-testcontainers} by default. Writing the summary can be disabled
+ * with the configuration parameter {@value #REPORT_ENABLED}.
+ */
+public final class ContainerTimings {
+
+  /** Configuration parameter that enables writing the timing summary at the end of a test run. */
+  public static final String REPORT_ENABLED = "flowinquiry.testcontainers.report.enabled";
+
+  /** Configuration parameter setting the directory the timing summary is written to. */
+  public static final String REPORT_DIR = "flowinquiry.testcontainers.report.dir";
+
+  /** Name of the timing summary file. */
+  static final String REPORT_FILE = "container-timings.json";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerTimings.class);
+
+  private static final ConcurrentLinkedQueue<PhaseTiming> phaseTimings =
+      new ConcurrentLinkedQueue<>();
+
+  private static final ConcurrentLinkedQueue<ClassTiming> classTimings =
+      new ConcurrentLinkedQueue<>();
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerTimings() {}
+
+  /**
+   * Records the duration of a lifecycle phase of a container.
+   *
+   * @param containerType the type of the container
+   * @param image the Docker image of the container, including its version
+   * @param phase the lifecycle phase
+   * @param nanos the duration of the phase in nanoseconds
+   */
+  static void recordPhase(
+      ContainerType containerType, String image, ContainerPhase phase, long nanos) {
+    phaseTimings.add(new PhaseTiming(containerType, image, phase, nanos));
+  }
+
+  /**
+   * Records the time a test class waited for one of its containers to be available.
+   *
+   * @param testClass the test class
+   * @param key the configuration signature of the container
+   * @param nanos the waiting time in nanoseconds
+   */
+  static void recordAcquisition(Class<?> testClass, ContainerKey key, long nanos) {
+    classTimings.add(new ClassTiming(testClass.getName(), key.toString(), nanos));
+  }
+
+  /**
+   * Writes the timing summary of the test run if it is enabled and any timing has been recorded,
+   * and resets the collected timings.
+   */
+  static void writeReport() {
+    List<PhaseTiming> phases = List.copyOf(phaseTimings);
+    List<ClassTiming> classes = List.copyOf(classTimings);
+    phaseTimings.removeAll(phases);
+    classTimings.removeAll(classes);
+
+    if ((phases.isEmpty() && classes.isEmpty())
+        || !ContainerSettings.getBoolean(REPORT_ENABLED, true)) {
+      return;
+    }
+
+    Path reportFile =
+        Paths.get(ContainerSettings.get(REPORT_DIR).orElse("build/spring-testcontainers"))
+            .resolve(REPORT_FILE);
+    try {
+      Files.createDirectories(reportFile.toAbsolutePath().getParent());
+      Files.writeString(reportFile, toJson(phases, classes), StandardCharsets.UTF_8);
+      log.info("Wrote container timing summary to {}", reportFile.toAbsolutePath());
+    } catch (IOException e) {
+      log.warn("Failed to write container timing summary to {}", reportFile, e);
+    }
+  }
+
+  private static String toJson(List<PhaseTiming> phases, List<ClassTiming> classes) {
+    Map<ContainerType, Set<String>> imagesByType = new TreeMap<>();
+    Map<ContainerType, Map<ContainerPhase, Total>> byType = new TreeMap<>();
+    for (PhaseTiming timing : phases) {
+      imagesByType
+          .computeIfAbsent(timing.containerType(), type -> new TreeSet<>())
+          .add(timing.image());
+      byType
+          .computeIfAbsent(timing.containerType(), type -> new EnumMap<>(ContainerPhase.class))
+          .computeIfAbsent(timing.phase(), phase -> new Total())
+          .add(timing.nanos());
+    }
+
+    Map<String, Map<String, Total>> byClass = new TreeMap<>();
+    for (ClassTiming timing : classes) {
+      byClass
+          .computeIfAbsent(timing.testClass(), testClass -> new TreeMap<>())
+          .computeIfAbsent(timing.container(), container -> new Total())
+          .add(timing.nanos());
+    }
+
+    StringBuilder json = new StringBuilder("{\n  \"containerTypes\": {");
+    String typeSeparator = "\n";
+    for (Map.Entry<ContainerType, Map<ContainerPhase, Total>> type : byType.entrySet()) {
+      json.append(typeSeparator)
+          .append("    ")
+          .append(quote(type.getKey().name()))
+          .append(": {\n      \"images\": [")
+          .append(
+              imagesByType.get(type.getKey()).stream()
+                  .map(ContainerTimings::quote)
+                  .collect(Collectors.joining(", ")))
+          .append("],\n      \"phases\": {");
+      appendTotals(json, type.getValue(), "        ");
+      json.append("      }\n    }");
+      typeSeparator = ",\n";
+    }
+    json.append("\n  },\n  \"testClasses\": {");
+
+    String classSeparator = "\n";
+    for (Map.Entry<String, Map<String, Total>> testClass : byClass.entrySet()) {
+      long total = testClass.getValue().values().stream().mapToLong(t -> t.nanos).sum();
+      json.append(classSeparator)
+          .append("    ")
+          .append(quote(testClass.getKey()))
+          .append(": {\n      \"totalNanos\": ")
+          .append(total)
+          .append(",\n      \"containers\": {");
+      appendTotals(json, testClass.getValue(), "        ");
+      json.append("      }\n    }");
+      classSeparator = ",\n";
+    }
+    return json.append("\n  }\n}\n").toString();
+  }
+
+  private static void appendTotals(StringBuilder json, Map<?, Total> totals, String indent) {
+    String separator = "\n";
+    for (Map.Entry<?, Total> entry : totals.entrySet()) {
+      json.append(separator)
+          .append(indent)
+          .append(quote(entry.getKey().toString()))
+          .append(": {\"count\": ")
+          .append(entry.getValue().count)
+          .append(", \"totalNanos\": ")
+          .append(entry.getValue().nanos)
+          .append("}");
+      separator = ",\n";
+    }
+    json.append("\n");
+  }
+
+  /** Quotes a value as a JSON string. */
+  static String quote(String value) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"' -> quoted.append("\\\"");
+        case '\\' -> quoted.append("\\\\");
+        case '\n' -> quoted.append("\\n");
+        case '\r' -> quoted.append("\\r");
+        case '\t' -> quoted.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            quoted.append(String.format("\\u%04x", (int) c));
+          } else {
+            quoted.append(c);
+          }
+        }
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  private record PhaseTiming(
+      ContainerType containerType, String image, ContainerPhase phase, long nanos) {}
+
+  private record ClassTiming(String testClass, String container, long nanos) {}
+
+  /** Number of occurrences and accumulated duration of a timed activity. */
+  private static final class Total {
+    private int count;
+    private long nanos;
+
+    private void add(long duration) {
+      count++;
+      nanos += duration;
+    }
+  }
+}
@@ -0,0 +1,329 @@
+package io.flowinquiry.testcontainers;
+
+import static io.flowinquiry.testcontainers.ContainerTimings.quote;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records which test classes use which containers during a test run, to find sharing opportunities
+ * and the cost of every container configuration.
+ *
+ * <p>Containers are recorded when they start and stop, and test classes when they attach to and
+ * release a container. When the last launcher session ends, a report is written next to the {@link
+ * ContainerTimings timing summary}, as {@value #REPORT_JSON_FILE} and {@value #REPORT_HTML_FILE}.
+ * For every container configuration, regardless of the test class a container may be scoped to, it
+ * shows:
+ *
+ * <ul>
+ *   <li>the number of containers started, where more than one means duplicate containers that
+ *       sharing or a longer idle timeout would avoid,
+ *   <li>the most containers of the configuration running at the same time,
+ *   <li>the container-seconds, summed over all containers of the configuration,
+ *   <li>the idle seconds, during which a container was running without any test class attached,
+ *   <li>the test classes using the configuration.
+ * </ul>
+ *
+ * <p>The report is written unless {@value ContainerTimings#REPORT_ENABLED} is set to false.
+ */
+public final class ContainerUsage {
+
+  /** Name of the JSON usage report file. */
+  static final String REPORT_JSON_FILE = "container-usage.json";
+
+  /** Name of the HTML usage report file. */
+  static final String REPORT_HTML_FILE = "container-usage.html";
+
+  private static final Logger log = LoggerFactory.getLogger(ContainerUsage.class);
+
+  private static final ConcurrentLinkedQueue<UsageEvent> events = new ConcurrentLinkedQueue<>();
+
+  /** Private constructor to prevent instantiation of this utility class. */
+  private ContainerUsage() {}
+
+  /** The recorded usage events. */
+  enum Action {
+    /** A container has started. */
+    START,
+    /** A test class has acquired a container. */
+    ATTACH,
+    /** A test class has released a container. */
+    RELEASE,
+    /** A container has stopped. */
+    STOP
+  }
+
+  /**
+   * Records a usage event.
+   *
+   * @param action what happened to the container
+   * @param key the configuration signature of the container
+   * @param testClass the test class the event is about, or null if it is not about a test class
+   */
+  static void record(Action action, ContainerKey key, Class<?> testClass) {
+    events.add(
+        new UsageEvent(Instant.now(), action, key, testClass == null ? null : testClass.getName()));
+  }
+
+  /**
+   * Writes the usage report of the test run if it is enabled and any event has been recorded, and
+   * resets the recorded events.
+   */
+  static void writeReport() {
+    List<UsageEvent> recorded = List.copyOf(events);
+    events.removeAll(recorded);
+
+    if (recorded.isEmpty()
+        || !ContainerSettings.getBoolean(ContainerTimings.REPORT_ENABLED, true)) {
+      return;
+    }
+
+    List<UsageEvent> sorted = new ArrayList<>(recorded);
+    sorted.sort(Comparator.comparing(UsageEvent::time));
+    List<ConfigurationUsage> usages = summarize(sorted);
+
+    Path directory =
+        Paths.get(
+            ContainerSettings.get(ContainerTimings.REPORT_DIR)
+                .orElse("build/spring-testcontainers"));
+    try {
+      Files.createDirectories(directory);
+      Files.writeString(
+          directory.resolve(REPORT_JSON_FILE), toJson(usages, sorted), StandardCharsets.UTF_8);
+      Files.writeString(
+          directory.resolve(REPORT_HTML_FILE), toHtml(usages), StandardCharsets.UTF_8);
+      log.info(
+          "Wrote container usage report to {}",
+          directory.resolve(REPORT_HTML_FILE).toAbsolutePath());
+    } catch (IOException e) {
+      log.warn("Failed to write container usage report to {}", directory, e);
+    }
+  }
+
+  /** Aggregates the events, ordered by time, per configuration. */
+  private static List<ConfigurationUsage> summarize(List<UsageEvent> sorted) {
+    Map<String, ConfigurationUsage> usages = new LinkedHashMap<>();
+    Map<ContainerKey, KeyState> states = new HashMap<>();
+    for (UsageEvent event : sorted) {
+      ConfigurationUsage usage =
+          usages.computeIfAbsent(configuration(event.key()), ConfigurationUsage::new);
+      KeyState state = states.computeIfAbsent(event.key(), key -> new KeyState());
+      state.advance(usage, event.time());
+      switch (event.action()) {
+        case START -> {
+          state.running++;
+          usage.starts++;
+          usage.running++;
+          usage.maxConcurrent = Math.max(usage.maxConcurrent, usage.running);
+        }
+        case ATTACH -> state.attached++;
+        case RELEASE -> state.attached = Math.max(0, state.attached - 1);
+        case STOP -> {
+          if (state.running > 0) {
+            state.running--;
+            usage.running--;
+          }
+        }
+      }
+      if (event.testClass() != null) {
+        usage.testClasses.add(event.testClass());
+      }
+    }
+
+    // Containers still running when the report is written are counted until the last event
+    Instant end = sorted.get(sorted.size() - 1).time();
+    states.forEach((key, state) -> state.advance(usages.get(configuration(key)), end));
+
+    List<ConfigurationUsage> result = new ArrayList<>(usages.values());
+    result.sort(Comparator.comparingDouble(ConfigurationUsage::containerSeconds).reversed());
+    return result;
+  }
+
+  /** Describes the configuration of a key, leaving out the test class it may be scoped to. */
+  private static String configuration(ContainerKey key) {
+    return "@" + key.annotationType().getSimpleName() + key.attributes();
+  }
+
+  private static String toJson(List<ConfigurationUsage> usages, List<UsageEvent> sorted) {
+    StringBuilder json = new StringBuilder("{\n  \"configurations\": [");
+    String separator = "\n";
+    for (ConfigurationUsage usage : usages) {
+      json.append(separator)
+          .append("    {\"configuration\": ")
+          .append(quote(usage.configuration))
+          .append(", \"containerStarts\": ")
+          .append(usage.starts)
+          .append(", \"duplicateStarts\": ")
+          .append(usage.duplicateStarts())
+          .append(", \"maxConcurrent\": ")
+          .append(usage.maxConcurrent)
+          .append(", \"containerSeconds\": ")
+          .append(format(usage.containerSeconds()))
+          .append(", \"idleSeconds\": ")
+          .append(format(usage.idleSeconds()))
+          .append(", \"testClasses\": [")
+          .append(
+              usage.testClasses.stream()
+                  .map(ContainerTimings::quote)
+                  .collect(Collectors.joining(", ")))
+          .append("]}");
+      separator = ",\n";
+    }
+    json.append("\n  ],\n  \"events\": [");
+
+    separator = "\n";
+    for (UsageEvent event : sorted) {
+      json.append(separator)
+          .append("    {\"time\": ")
+          .append(quote(event.time().toString()))
+          .append(", \"action\": ")
+          .append(quote(event.action().name()))
+          .append(", \"container\": ")
+          .append(quote(event.key().toString()))
+          .append(", \"testClass\": ")
+          .append(event.testClass() == null ? "null" : quote(event.testClass()))
+          .append("}");
+      separator = ",\n";
+    }
+    return json.append("\n  ]\n}\n").toString();
+  }
+
+  private static String toHtml(List<ConfigurationUsage> usages) {
+    double totalSeconds = usages.stream().mapToDouble(ConfigurationUsage::containerSeconds).sum();
+    int duplicateStarts = usages.stream().mapToInt(ConfigurationUsage::duplicateStarts).sum();
+
+    StringBuilder html =
+        new StringBuilder(
+            """
+            <!DOCTYPE html>
+            <html>
+            <head>
+            <meta charset="utf-8">
+            <title>Container usage</title>
+            <style>
+              body { font-family: sans-serif; margin: 2em; }
+              table { border-collapse: collapse; }
+              th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: left; vertical-align: top; }
+              td.number { text-align: right; }
+              tr.duplicate { background: #fff3cd; }
+              code { font-size: 0.9em; }
+            </style>
+            </head>
+            <body>
+            <h1>Container usage</h1>
+            """);
+    html.append("<p>")
+        .append(usages.size())
+        .append(" container configurations, ")
+        .append(format(totalSeconds))
+        .append(" container-seconds, ")
+        .append(duplicateStarts)
+        .append(" duplicate container starts.</p>\n");
+    if (duplicateStarts > 0) {
+      html.append(
+          "<p>Highlighted configurations were started more than once. Sharing their containers,"
+              + " or keeping them for a longer idle timeout, would avoid the duplicate starts.</p>\n");
+    }
+    html.append(
+        "<table>\n<tr><th>Configuration</th><th>Starts</th><th>Max concurrent</th>"
+            + "<th>Container-seconds</th><th>Idle seconds</th><th>Test classes</th></tr>\n");
+    for (ConfigurationUsage usage : usages) {
+      html.append(usage.duplicateStarts() > 0 ? "<tr class=\"duplicate\">" : "<tr>")
+          .append("<td><code>")
+          .append(escape(usage.configuration))
+          .append("</code></td><td class=\"number\">")
+          .append(usage.starts)
+          .append("</td><td class=\"number\">")
+          .append(usage.maxConcurrent)
+          .append("</td><td class=\"number\">")
+          .append(format(usage.containerSeconds()))
+          .append("</td><td class=\"number\">")
+          .append(format(usage.idleSeconds()))
+          .append("</td><td>")
+          .append(
+              usage.testClasses.stream()
+                  .map(ContainerUsage::escape)
+                  .collect(Collectors.joining("<br>")))
+          .append("</td></tr>\n");
+    }
+    return html.append("</table>\n</body>\n</html>\n").toString();
+  }
+
+  private static String format(double seconds) {
+    return String.format(Locale.ROOT, "%.3f", seconds);
+  }
+
+  private static String escape(String value) {
+    return value
+        .replace("&", "&amp;")
+        .replace("<", "&lt;")
+        .replace(">", "&gt;")
+        .replace("\"", "&quot;");
+  }
+
+  private record UsageEvent(Instant time, Action action, ContainerKey key, String testClass) {}
+
+  /** Containers running and test classes attached under one key while replaying the events. */
+  private static final class KeyState {
+    private int running;
+    private int attached;
+    private Instant since;
+
+    /** Accounts the time since the previous event of the key to the configuration. */
+    private void advance(ConfigurationUsage usage, Instant now) {
+      if (since != null && running > 0) {
+        long nanos = Duration.between(since, now).toNanos();
+        usage.containerNanos += nanos * running;
+        if (attached == 0) {
+          usage.idleNanos += nanos * running;
+        }
+      }
+      since = now;
+    }
+  }
+
+  /** Usage aggregated over all containers of one configuration. */
+  private static final class ConfigurationUsage {
+    private final String configuration;
+    private final Set<String> testClasses = new TreeSet<>();
+    private int starts;
+    private int running;
+    private int maxConcurrent;
+    private long containerNanos;
+    private long idleNanos;
+
+    private ConfigurationUsage(String configuration) {
+      this.configuration = configuration;
+    }
+
+    private int duplicateStarts() {
+      return Math.max(0, starts - 1);
+    }
+
+    private double containerSeconds() {
+      return containerNanos / 1e9;
+    }
+
+    private double idleSeconds() {
+      return idleNanos / 1e9;
+    }
+  }
+}
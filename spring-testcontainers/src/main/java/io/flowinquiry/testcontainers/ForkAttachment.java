@@ -0,0 +1,110 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Handle of a container shared between test JVMs through {@link ContainerForks}.
+ *
+ * <p>It stands in for the provider of the container in the {@link ContainerRegistry} of every JVM,
+ * whether the JVM started the container or attached to it, and applies the properties of the part
+ * of the container isolated for the JVM. Isolation units get their parts through the provider of
+ * the container type. Stopping the handle releases the container on behalf of the JVM.
+ */
+final class ForkAttachment implements ContainerHandle {
+
+  private final ContainerKey key;
+
+  private final SpringAwareContainerProvider<?, ?> provider;
+
+  private final boolean owner;
+
+  private final Map<String, String> sharedProperties;
+
+  private final Map<String, String> properties;
+
+  /**
+   * Creates the handle of a container shared between test JVMs.
+   *
+   * @param key the configuration signature of the container
+   * @param provider the provider of the container type, which has started the container if this JVM
+   *     owns it
+   * @param owner whether this JVM started the container
+   * @param sharedProperties the properties of the whole container, as recorded by its owner
+   * @param properties the properties of the part of the container isolated for this JVM
+   */
+  ForkAttachment(
+      ContainerKey key,
+      SpringAwareContainerProvider<?, ?> provider,
+      boolean owner,
+      Map<String, String> sharedProperties,
+      Map<String, String> properties) {
+    this.key = key;
+    this.provider = provider;
+    this.owner = owner;
+    this.sharedProperties = Map.copyOf(sharedProperties);
+    this.properties = Map.copyOf(properties);
+  }
+
+  /**
+   * Returns whether this JVM started the container, rather than attaching to the container of
+   * another test JVM.
+   *
+   * @return true if this JVM owns the container
+   */
+  boolean isOwner() {
+    return owner;
+  }
+
+  @Override
+  public ContainerType getContainerType() {
+    return provider.getContainerType();
+  }
+
+  @Override
+  public Set<String> getPropertyNames() {
+    return properties.keySet();
+  }
+
+  @Override
+  public void configure(ConfigurableEnvironment environment) {
+    environment
+        .getPropertySources()
+        .addFirst(new MapPropertySource("testcontainers.fork:" + key, new HashMap<>(properties)));
+  }
+
+  @Override
+  public Map<String, Object> captureProperties() {
+    return new HashMap<>(properties);
+  }
+
+  /** Isolates a part of the whole container through the provider of the container type. */
+  @Override
+  public Map<String, String> isolateProperties(String namespace) {
+    return provider.isolateTimed(sharedProperties, namespace);
+  }
+
+  @Override
+  public void releaseIsolatedProperties(Map<String, String> properties) {
+    provider.releaseIsolatedProperties(properties);
+  }
+
+  @Override
+  public Map<ContainerPhase, Long> getTimings() {
+    return provider.getTimings();
+  }
+
+  /** Releases the container on behalf of this JVM. */
+  @Override
+  public void stop() {
+    ContainerForks.leave(key, provider, owner);
+  }
+
+  @Override
+  public String toString() {
+    return (owner ? "Owned" : "Attached") + " fork-shared container " + provider;
+  }
+}
@@ -0,0 +1,66 @@
+package io.flowinquiry.testcontainers;
+
+import java.util.Map;
+import java.util.Set;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * A {@link PropertySource} exposing the properties of a lazily started container.
+ *
+ * <p>The names of the properties are known up front, so checking whether a property exists does not
+ * start the container. The container is started when one of the property values is resolved for the
+ * first time; the values it applies to a scratch environment are then captured and served from
+ * there.
+ */
+final class LazyContainerPropertySource extends EnumerablePropertySource<ContainerKey> {
+
+  private final Set<String> propertyNames;
+
+  private volatile Map<String, Object> values;
+
+  /**
+   * Creates a property source for the lazily started container registered under the given key.
+   *
+   * @param key the configuration signature of the container
+   * @param propertyNames the names of the properties set by the container provider
+   */
+  LazyContainerPropertySource(ContainerKey key, Set<String> propertyNames) {
+    super("testcontainers.lazy:" + key, key);
+    this.propertyNames = Set.copyOf(propertyNames);
+  }
+
+  @Override
+  public String[] getPropertyNames() {
+    return propertyNames.toArray(String[]::new);
+  }
+
+  @Override
+  public boolean containsProperty(String name) {
+    return propertyNames.contains(name);
+  }
+
+  @Override
+  public Object getProperty(String name) {
+    if (!containsProperty(name)) return null;
+    return getValues().get(name);
+  }
+
+  private Map<String, Object> getValues() {
+    Map<String, Object> current = values;
+    if (current == null) {
+      synchronized (this) {
+        current = values;
+        if (current == null) {
+          values = current = startContainer();
+        }
+      }
+    }
+    return current;
+  }
+
+  /** Starts the container and captures the values of its properties. */
+  private Map<String, Object> startContainer() {
+    return ContainerRegistry.start(getSource()).captureProperties();
+  }
+}
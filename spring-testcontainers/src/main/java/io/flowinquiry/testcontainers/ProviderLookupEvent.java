@@ -0,0 +1,30 @@
+package io.flowinquiry.testcontainers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering the lookup and initialization of a container provider by {@link
+ * ServiceLoaderContainerFactory}.
+ */
+@Name("io.flowinquiry.testcontainers.ProviderLookup")
+@Label("Container Provider Lookup")
+@Category({"Spring Testcontainers", "Container"})
+@Description("Lookup and initialization of a container provider")
+final class ProviderLookupEvent extends Event {
+
+  @Label("Container Type")
+  String containerType;
+
+  @Label("Provider Class")
+  Class<?> providerClass;
+
+  @Label("Image")
+  String image;
+
+  @Label("Version")
+  String version;
+}
@@ -0,0 +1,31 @@
+package io.flowinquiry.testcontainers;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the type of container managed by a {@link SpringAwareContainerProvider} implementation.
+ *
+ * <p>{@link ServiceLoaderContainerFactory} reads this annotation from the registered provider
+ * classes to index them by container type without instantiating them. Its value must match the
+ * result of {@link SpringAwareContainerProvider#getContainerType()}.
+ *
+ * <p>Providers without this annotation are still supported, but each of them is instantiated once
+ * to find out its container type.
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+@Documented
+public @interface ProvidesContainer {
+
+  /**
+   * The type of container managed by the annotated provider.
+   *
+   * @return the container type
+   */
+  ContainerType value();
+}
@@ -0,0 +1,31 @@
+package io.flowinquiry.testcontainers;
+
+/**
+ * A check telling whether a started container is ready to serve requests, using the protocol of the
+ * service it runs.
+ *
+ * <p>Providers supply readiness probes through {@link
+ * SpringAwareContainerProvider#getReadinessProbe()} to replace the generic wait strategies of
+ * Testcontainers, which match log lines or poll ports at coarse intervals. Probes are run with a
+ * short exponential backoff by {@link ReadinessProbeWaitStrategy}, which closes them once the
+ * container is ready or the wait has failed.
+ */
+@FunctionalInterface
+public interface ReadinessProbe extends AutoCloseable {
+
+  /**
+   * Checks whether the container is ready. Exceptions are treated like a negative answer, so that
+   * implementations can simply attempt to use the service.
+   *
+   * @return true if the container is ready
+   * @throws Exception if the service can not be reached yet
+   */
+  boolean isReady() throws Exception;
+
+  /**
+   * Releases the resources the probe keeps between attempts, such as a client of the service. Does
+   * nothing by default.
+   */
+  @Override
+  default void close() {}
+}
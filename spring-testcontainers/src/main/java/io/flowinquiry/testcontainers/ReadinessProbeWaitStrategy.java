@@ -0,0 +1,84 @@
+package io.flowinquiry.testcontainers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+
+/**
+ * Wait strategy running a {@link ReadinessProbe} until it succeeds.
+ *
+ * <p>The probe is first retried after {@value #INITIAL_BACKOFF_MILLIS} ms, and the delay doubles
+ * after every failed attempt up to {@value #MAX_BACKOFF_MILLIS} ms, so that a container is detected
+ * as ready shortly after it actually is. The time until readiness and the number of attempts are
+ * logged, to compare probes with the generic wait strategies they replace.
+ */
+public final class ReadinessProbeWaitStrategy extends AbstractWaitStrategy {
+
+  /** Delay before the first retry of a failed probe. */
+  static final long INITIAL_BACKOFF_MILLIS = 10;
+
+  /** Maximum delay between two attempts. */
+  static final long MAX_BACKOFF_MILLIS = 250;
+
+  private static final Logger log = LoggerFactory.getLogger(ReadinessProbeWaitStrategy.class);
+
+  private final String description;
+
+  private final ReadinessProbe probe;
+
+  /**
+   * Creates a wait strategy running the given probe.
+   *
+   * @param description what the probe checks, used in log messages
+   * @param probe the readiness probe
+   */
+  public ReadinessProbeWaitStrategy(String description, ReadinessProbe probe) {
+    this.description = description;
+    this.probe = probe;
+  }
+
+  @Override
+  protected void waitUntilReady() {
+    try {
+      probeUntilReady();
+    } finally {
+      probe.close();
+    }
+  }
+
+  private void probeUntilReady() {
+    long startTime = System.nanoTime();
+    long deadline = startTime + startupTimeout.toNanos();
+    long backoff = INITIAL_BACKOFF_MILLIS;
+    Exception lastFailure = null;
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        if (probe.isReady()) {
+          log.info(
+              "{} ready after {} ms and {} probe attempts",
+              description,
+              (System.nanoTime() - startTime) / 1_000_000,
+              attempt);
+          return;
+        }
+      } catch (Exception e) {
+        lastFailure = e;
+      }
+
+      if (System.nanoTime() + backoff * 1_000_000 > deadline) {
+        throw new ContainerLaunchException(
+            "Timed out waiting for " + description + " after " + attempt + " probe attempts",
+            lastFailure);
+      }
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ContainerLaunchException("Interrupted while waiting for " + description, e);
+      }
+      backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+    }
+  }
+}
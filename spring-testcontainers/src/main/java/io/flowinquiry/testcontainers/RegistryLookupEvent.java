@@ -0,0 +1,58 @@
+package io.flowinquiry.testcontainers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering a lookup of a pooled container in {@link ContainerRegistry}. A hit
+ * means that a container with the same configuration was already registered. The duration of the
+ * event includes the time spent waiting for the container to start.
+ */
+@Name("io.flowinquiry.testcontainers.RegistryLookup")
+@Label("Container Registry Lookup")
+@Category({"Spring Testcontainers", "Registry"})
+@Description("Lookup of a pooled container by its configuration")
+final class RegistryLookupEvent extends Event {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Hit")
+  boolean hit;
+
+  @Label("Container Type")
+  String containerType;
+
+  @Label("Image")
+  String image;
+
+  @Label("Version")
+  String version;
+
+  @Label("Configuration")
+  String configuration;
+
+  /**
+   * Fills the fields describing the container registered under the given key.
+   *
+   * @param operation the registry operation performed
+   * @param key the configuration signature of the container
+   * @param hit whether a container was already registered under the key
+   * @param provider the provider of the container if known, null otherwise
+   */
+  void describe(String operation, ContainerKey key, boolean hit, ContainerHandle provider) {
+    this.operation = operation;
+    this.hit = hit;
+    this.image = key.dockerImage();
+    this.version = key.version();
+    this.configuration = key.toString();
+    if (provider != null) {
+      this.containerType = provider.getContainerType().name();
+    } else if (key.attributes().get("rdbms") instanceof ContainerType rdbms) {
+      this.containerType = rdbms.name();
+    }
+  }
+}
@@ -1,9 +1,15 @@
 package io.flowinquiry.testcontainers;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
 
 /**
  * Factory class that uses Java's ServiceLoader mechanism to dynamically discover and initialize
@@ -13,11 +19,54 @@ import java.util.function.Predicate;
  * implementations that are registered via the Java ServiceLoader SPI. It allows for dynamic
  * discovery of container providers without hard-coding dependencies to specific implementations.
  *
+ * <p>The registered providers are indexed by {@link ContainerType} once, on first use. The index is
+ * built from the {@link ProvidesContainer} annotation of the provider classes, so that only the
+ * provider matching a lookup is ever instantiated.
+ *
  * <p>The factory is typically used by container extensions to find an appropriate provider based on
  * container type and annotation configuration.
  */
 public class ServiceLoaderContainerFactory {
 
+  private static final Logger log = LoggerFactory.getLogger(ServiceLoaderContainerFactory.class);
+
+  /**
+   * Discovers and initializes the container provider for the specified container type.
+   *
+   * <p>A new provider instance is created for each call and initialized with the given annotation.
+   * The lookup is emitted as a Java Flight Recorder event while a recording is running.
+   *
+   * @param <A> the annotation type that configures the container
+   * @param containerType the type of container to provide
+   * @param annotation the annotation instance containing container configuration
+   * @return the initialized container provider
+   * @throws IllegalStateException if no provider is registered for the container type
+   */
+  @SuppressWarnings("unchecked")
+  public static <A extends Annotation>
+      SpringAwareContainerProvider<A, ? extends GenericContainer<?>> getProvider(
+          ContainerType containerType, A annotation) {
+    ProviderLookupEvent event = new ProviderLookupEvent();
+    event.begin();
+    ServiceLoader.Provider<SpringAwareContainerProvider<?, ?>> registered =
+        ProviderIndex.INSTANCE.get(containerType);
+    if (registered == null) {
+      throw new IllegalStateException("No provider found for container type " + containerType);
+    }
+
+    SpringAwareContainerProvider<A, ? extends GenericContainer<?>> provider =
+        (SpringAwareContainerProvider<A, ? extends GenericContainer<?>>) registered.get();
+    provider.initContainerInstance(annotation);
+    if (event.shouldCommit()) {
+      event.containerType = containerType.name();
+      event.providerClass = registered.type();
+      event.image = provider.dockerImage;
+      event.version = provider.version;
+      event.commit();
+    }
+    return provider;
+  }
+
   /**
    * Discovers and initializes a container provider that matches the specified filter criteria.
    *
@@ -31,7 +80,11 @@ public class ServiceLoaderContainerFactory {
    * @param initializer a function that initializes the provider with the annotation configuration
    * @return the initialized container provider
    * @throws IllegalStateException if no matching provider is found
+   * @deprecated instantiates every registered provider on each call, use {@link
+   *     #getProvider(ContainerType, Annotation)} instead
    */
+  @Deprecated
+  @SuppressWarnings("rawtypes") // raw signature kept for compatibility with existing callers
   public static <A extends Annotation> SpringAwareContainerProvider getProvider(
       A annotation,
       Predicate<SpringAwareContainerProvider> filter,
@@ -47,4 +100,43 @@ public class ServiceLoaderContainerFactory {
     initializer.accept(provider, annotation);
     return provider;
   }
+
+  /** Lazily built index of the registered providers by the type of container they manage. */
+  private static final class ProviderIndex {
+
+    /** Service type of the providers, whose class literal can only be raw. */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final Class<SpringAwareContainerProvider<?, ?>> SERVICE_TYPE =
+        (Class) SpringAwareContainerProvider.class;
+
+    private static final Map<
+            ContainerType, ServiceLoader.Provider<SpringAwareContainerProvider<?, ?>>>
+        INSTANCE = build();
+
+    private static Map<ContainerType, ServiceLoader.Provider<SpringAwareContainerProvider<?, ?>>>
+        build() {
+      Map<ContainerType, ServiceLoader.Provider<SpringAwareContainerProvider<?, ?>>> index =
+          new EnumMap<>(ContainerType.class);
+      ServiceLoader.load(SERVICE_TYPE).stream()
+          .forEach(registered -> index.putIfAbsent(containerTypeOf(registered), registered));
+      log.debug("Indexed container providers {}", index.keySet());
+      return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Returns the container type of a registered provider, reading it from the {@link
+     * ProvidesContainer} annotation if possible, so that the provider class is not initialized.
+     */
+    private static ContainerType containerTypeOf(
+        ServiceLoader.Provider<SpringAwareContainerProvider<?, ?>> registered) {
+      ProvidesContainer declaration = registered.type().getAnnotation(ProvidesContainer.class);
+      if (declaration != null) {
+        return declaration.value();
+      }
+      log.debug(
+          "Provider {} is not annotated with @ProvidesContainer, instantiating it to find its type",
+          registered.type().getName());
+      return registered.get().getContainerType();
+    }
+  }
 }
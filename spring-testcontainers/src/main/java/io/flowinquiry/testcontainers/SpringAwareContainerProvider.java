@@ -1,12 +1,22 @@
 package io.flowinquiry.testcontainers;
 
+import com.github.dockerjava.api.model.HostConfig;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.env.AbstractEnvironment;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.TestcontainersConfiguration;
 
 /**
@@ -17,11 +27,36 @@ import org.testcontainers.utility.TestcontainersConfiguration;
  * <p>Implementations of this class should provide specific container creation logic and environment
  * configuration for different container types (e.g., PostgreSQL, MySQL, Ollama, etc).
  *
+ * <p>Providers that support it can run in snapshot mode, enabled with the configuration parameter
+ * {@value #SNAPSHOT_ENABLED}. After the first successful initialization, the container is committed
+ * to a local image tagged with a hash of the base image and the initialization inputs, and later
+ * runs start from that image without initializing again. Providers whose initialization is
+ * especially slow may {@link #isSnapshotByDefault() run in snapshot mode} unless the parameter is
+ * set to false.
+ *
+ * <p>Container annotations may declare the attributes {@code cpus}, {@code memoryMb}, {@code
+ * shmSizeMb}, {@code tmpfs} and {@code dataOnTmpfs}, which are applied to every container created
+ * by the provider to bound its resources or keep its files in memory.
+ *
  * @param <SELF> The specific type of GenericContainer being managed
  */
 public abstract class SpringAwareContainerProvider<
-        A extends Annotation, SELF extends GenericContainer<SELF>>
-    implements LifecycleAware {
+        A extends Annotation, SELF extends GenericContainer<?>>
+    implements LifecycleAware, ContainerHandle {
+
+  /**
+   * Configuration parameter that enables waiting for containers with their provider's {@link
+   * ReadinessProbe readiness probe} instead of the default wait strategy. Probes are off by
+   * default, so that the wait strategy of every container stays the one of Testcontainers unless
+   * asked otherwise.
+   */
+  public static final String READINESS_PROBES_ENABLED =
+      "flowinquiry.testcontainers.readiness.probes.enabled";
+
+  /** Configuration parameter that enables starting containers from snapshot images. */
+  public static final String SNAPSHOT_ENABLED = "flowinquiry.testcontainers.snapshot.enabled";
+
+  private static final long MEGABYTE = 1024L * 1024;
 
   private static final Logger log = LoggerFactory.getLogger(SpringAwareContainerProvider.class);
 
@@ -36,33 +71,128 @@ public abstract class SpringAwareContainerProvider<
 
   protected A enableContainerAnnotation;
 
+  /** Accumulated duration of every lifecycle phase of the container, in nanoseconds. */
+  private final Map<ContainerPhase, Long> timings = new ConcurrentHashMap<>();
+
   /** The actual container instance being managed. */
   protected SELF container;
 
-  public final void initContainerInstance(A enableContainerAnnotation) {
-    try {
-      this.enableContainerAnnotation = enableContainerAnnotation;
-      Method dockerImageMethod =
-          enableContainerAnnotation.annotationType().getMethod("dockerImage");
-      Method versionMethod = enableContainerAnnotation.annotationType().getMethod("version");
+  /** Name of the snapshot image of the initialized container, null if snapshots are not used. */
+  private String snapshotImage;
 
-      log.info("Initializing the container with image {}:{}", dockerImage, version);
-      this.version = (String) versionMethod.invoke(enableContainerAnnotation);
-      this.dockerImage = (String) dockerImageMethod.invoke(enableContainerAnnotation);
+  /** Whether the container is started from an existing snapshot image. */
+  private boolean restoredFromSnapshot;
 
-      container = createContainer();
-      container.withReuse(reuseContainerSupport);
-      log.info(
-          "Created the container with image {}:{} with reuse {}",
-          dockerImage,
-          version,
-          reuseContainerSupport);
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+  public final void initContainerInstance(A enableContainerAnnotation) {
+    AnnotationMetadata metadata = AnnotationMetadata.of(enableContainerAnnotation.annotationType());
+    if (!metadata.hasAttribute("dockerImage") || !metadata.hasAttribute("version")) {
       throw new IllegalArgumentException(
           "Annotation "
               + enableContainerAnnotation.annotationType().getName()
               + " must have attributes dockerImage and version");
     }
+
+    this.enableContainerAnnotation = enableContainerAnnotation;
+    this.version = (String) metadata.getValue(enableContainerAnnotation, "version");
+    this.dockerImage = (String) metadata.getValue(enableContainerAnnotation, "dockerImage");
+    log.info("Initializing the container with image {}:{}", dockerImage, version);
+
+    if (supportsSnapshot()
+        && ContainerSettings.getBoolean(SNAPSHOT_ENABLED, isSnapshotByDefault())) {
+      snapshotImage =
+          ContainerSnapshots.imageName(
+              getContainerType(), dockerImage + ":" + version, getSnapshotInputs());
+      restoredFromSnapshot = ContainerSnapshots.exists(snapshotImage);
+      log.info(
+          "{} snapshot image {}",
+          restoredFromSnapshot ? "Starting from" : "Initializing for",
+          snapshotImage);
+    }
+
+    timed(
+        ContainerPhase.INIT,
+        () -> {
+          container = createContainer();
+          container.withReuse(reuseContainerSupport);
+          applyResources(metadata);
+          ReadinessProbe probe = isReadinessProbeEnabled() ? getReadinessProbe() : null;
+          if (probe != null) {
+            container.waitingFor(
+                new ReadinessProbeWaitStrategy(
+                    getContainerType() + " container " + dockerImage + ":" + version, probe));
+          }
+        });
+    log.info(
+        "Created the container with image {}:{} with reuse {}",
+        dockerImage,
+        version,
+        reuseContainerSupport);
+  }
+
+  /**
+   * Applies the resource limits and tmpfs mounts declared on the container annotation. Attributes
+   * the annotation does not declare, and limits left at 0, are not applied.
+   */
+  private void applyResources(AnnotationMetadata metadata) {
+    double cpus = (double) attribute(metadata, "cpus", 0d);
+    long memoryMb = (long) attribute(metadata, "memoryMb", 0L);
+    long shmSizeMb = (long) attribute(metadata, "shmSizeMb", 0L);
+    if (cpus > 0 || memoryMb > 0 || shmSizeMb > 0) {
+      container.withCreateContainerCmdModifier(
+          cmd -> {
+            HostConfig hostConfig = cmd.getHostConfig();
+            if (cpus > 0) hostConfig.withNanoCPUs((long) (cpus * 1_000_000_000L));
+            if (memoryMb > 0) hostConfig.withMemory(memoryMb * MEGABYTE);
+            if (shmSizeMb > 0) hostConfig.withShmSize(shmSizeMb * MEGABYTE);
+          });
+    }
+
+    Map<String, String> tmpfs = new LinkedHashMap<>();
+    for (String path : (String[]) attribute(metadata, "tmpfs", new String[0])) {
+      tmpfs.put(path, "rw");
+    }
+    if ((boolean) attribute(metadata, "dataOnTmpfs", false) || isDataOnTmpfs()) {
+      String dataDirectory = getDataDirectory();
+      if (dataDirectory == null) {
+        log.warn("{} container has no data directory to mount as tmpfs", getContainerType());
+      } else if (isSnapshotMode()) {
+        log.warn(
+            "Not mounting {} as tmpfs, as its content would be lost by snapshots", dataDirectory);
+      } else {
+        tmpfs.put(dataDirectory, "rw");
+      }
+    }
+    if (!tmpfs.isEmpty()) {
+      container.withTmpFs(tmpfs);
+    }
+  }
+
+  private Object attribute(AnnotationMetadata metadata, String name, Object defaultValue) {
+    return metadata.hasAttribute(name)
+        ? metadata.getValue(enableContainerAnnotation, name)
+        : defaultValue;
+  }
+
+  /**
+   * Returns the directory in which the container stores its data, mounted as tmpfs when the
+   * container annotation sets {@code dataOnTmpfs}. Returns null by default, for containers without
+   * such a directory.
+   *
+   * @return the data directory in the container, or null
+   */
+  protected String getDataDirectory() {
+    return null;
+  }
+
+  /**
+   * Returns whether the {@link #getDataDirectory() data directory} is mounted as tmpfs even if the
+   * container annotation does not set {@code dataOnTmpfs}, for example by a performance profile.
+   * Returns false by default.
+   *
+   * @return true to mount the data directory as tmpfs
+   */
+  protected boolean isDataOnTmpfs() {
+    return false;
   }
 
   /**
@@ -73,17 +203,150 @@ public abstract class SpringAwareContainerProvider<
    */
   protected abstract SELF createContainer();
 
-  /** Starts the container. This method is called when the Spring context is initialized. */
+  /**
+   * Returns the name of the image to create the container from. This is the configured image, or
+   * the snapshot image if the container is restored from a snapshot.
+   *
+   * @return the Docker image name of the container
+   */
+  protected DockerImageName dockerImageName() {
+    DockerImageName configured = DockerImageName.parse(dockerImage + ":" + version);
+    return restoredFromSnapshot
+        ? DockerImageName.parse(snapshotImage).asCompatibleSubstituteFor(configured)
+        : configured;
+  }
+
+  /**
+   * Starts the container. This method is called when the Spring context is initialized.
+   *
+   * <p>The container image is pulled first, or its {@link ContainerImages prefetch} awaited. The
+   * container is then only started once the {@link ContainerAdmission startup admission} lets it,
+   * so that concurrent startups do not overload the Docker daemon.
+   *
+   * <p>Once the container is running, it is initialized through {@link #initializeContainer()},
+   * unless it was restored from a snapshot, and then committed to a snapshot image if snapshots are
+   * enabled, once {@link #prepareSnapshot()} has made its state durable.
+   */
   @Override
   public void start() {
-    container.start();
+    if (!restoredFromSnapshot) {
+      timed(ContainerPhase.PULL, () -> ContainerImages.await(dockerImageName()));
+    }
+    ContainerAdmission.Permit[] permit = new ContainerAdmission.Permit[1];
+    timed(ContainerPhase.ADMISSION, () -> permit[0] = ContainerAdmission.acquire());
+    boolean started = false;
+    try {
+      timed(ContainerPhase.START, container::start);
+      started = true;
+    } finally {
+      permit[0].release(dockerImageName().asCanonicalNameString(), started);
+    }
+    if (!restoredFromSnapshot) {
+      initializeContainer();
+      if (snapshotImage != null) {
+        timed(
+            ContainerPhase.SNAPSHOT,
+            () -> {
+              prepareSnapshot();
+              ContainerSnapshots.commit(container, snapshotImage);
+            });
+      }
+    }
+  }
+
+  /**
+   * Initializes the running container, for example by loading data or pulling models. The state
+   * created here is captured by snapshots. Does nothing by default.
+   */
+  protected void initializeContainer() {}
+
+  /**
+   * Makes the state of the initialized container durable before it is committed to a snapshot
+   * image, for example by writing the data held in server memory to disk. The snapshot is taken
+   * from the file system of the running container, so state that is only in memory would be lost.
+   * Does nothing by default.
+   */
+  protected void prepareSnapshot() {}
+
+  /**
+   * Returns the probe telling when the started container is ready, replacing the default wait
+   * strategy of the container. Returns null by default, keeping the default wait strategy.
+   *
+   * <p>The probe is only used if {@value #READINESS_PROBES_ENABLED} is set to true.
+   *
+   * @return the readiness probe of the container, or null
+   */
+  protected ReadinessProbe getReadinessProbe() {
+    return null;
+  }
+
+  /**
+   * Returns whether containers wait for readiness with their provider's probe.
+   *
+   * @return true if {@value #READINESS_PROBES_ENABLED} is set to true
+   */
+  protected final boolean isReadinessProbeEnabled() {
+    return ContainerSettings.getBoolean(READINESS_PROBES_ENABLED, false);
+  }
+
+  /**
+   * Returns whether this provider supports snapshot mode. Providers must make sure that all state
+   * created by the container initialization lives in the container file system, as data in volumes
+   * is not part of a snapshot. Returns false by default.
+   *
+   * @return true if the container can be started from a snapshot image
+   */
+  protected boolean supportsSnapshot() {
+    return false;
+  }
+
+  /**
+   * Returns whether the container runs in snapshot mode when {@value #SNAPSHOT_ENABLED} is not set,
+   * for containers whose initialization is too slow to repeat for every container. Returns false by
+   * default.
+   *
+   * @return true if snapshot mode is on unless turned off explicitly
+   */
+  protected boolean isSnapshotByDefault() {
+    return false;
+  }
+
+  /**
+   * Returns the inputs of the container initialization, such as the content of init scripts.
+   * Together with the base image, they make the snapshot tag, so changing them invalidates the
+   * snapshot. Annotation attributes that change the initialized state must be returned here, as the
+   * annotation itself is not part of the tag. Returns no inputs by default.
+   *
+   * @return the initialization inputs
+   */
+  protected List<String> getSnapshotInputs() {
+    return List.of();
+  }
+
+  /**
+   * Returns whether the container runs in snapshot mode, either to be committed after its
+   * initialization or restored from an existing snapshot.
+   *
+   * @return true if snapshot mode is active for the container
+   */
+  protected final boolean isSnapshotMode() {
+    return snapshotImage != null;
+  }
+
+  /**
+   * Returns whether the container is started from an existing snapshot image.
+   *
+   * @return true if the container is restored from a snapshot
+   */
+  protected final boolean isRestoredFromSnapshot() {
+    return restoredFromSnapshot;
   }
 
   /** Stops the container. This method is called when the Spring context is closed. */
   @Override
   public void stop() {
     if (!reuseContainerSupport) {
-      container.stop();
+      timed(ContainerPhase.STOP, container::stop);
     }
   }
 
@@ -102,4 +365,171 @@ public abstract class SpringAwareContainerProvider<
    * @param environment the Spring environment to configure
    */
   public abstract void applyTo(ConfigurableEnvironment environment);
+
+  /**
+   * Returns the names of the properties set by {@link #applyTo(ConfigurableEnvironment)}. They
+   * allow the container to be started lazily, on first access to one of these properties.
+   *
+   * <p>Providers that do not declare their properties return an empty set, in which case their
+   * containers are always started eagerly.
+   *
+   * @return the names of the properties applied to the Spring environment
+   */
+  public Set<String> getPropertyNames() {
+    return Set.of();
+  }
+
+  /**
+   * Returns the properties giving a test JVM access to its own isolated part of a container shared
+   * with other test JVMs, such as a dedicated database, creating that part if needed. Returns the
+   * properties unchanged by default, in which case all JVMs share the whole container.
+   *
+   * <p>It is also called for every {@link ContainerIsolation isolation unit} of an isolated
+   * container, with the properties the test JVM would otherwise apply.
+   *
+   * @param properties the properties applied by the provider that started the container
+   * @param namespace a name unique to the calling JVM or isolation unit, usable as a database or
+   *     prefix name
+   * @return the properties to apply to the Spring environment of the calling JVM or isolation unit
+   * @see ContainerForks
+   */
+  protected Map<String, String> isolate(Map<String, String> properties, String namespace) {
+    return properties;
+  }
+
+  /**
+   * Releases the isolated part of the container created by {@link #isolate(Map, String)} for an
+   * isolation unit, once its application context is closed. Does nothing by default.
+   *
+   * @param properties the properties returned by {@link #isolate(Map, String)}
+   */
+  protected void releaseIsolated(Map<String, String> properties) {}
+
+  /**
+   * Captures the container properties and isolates a part of the container for an isolation unit
+   * through {@link #isolate(Map, String)}.
+   *
+   * @param namespace a name unique to the isolation unit
+   * @return the properties of the isolated part of the container
+   */
+  @Override
+  public final Map<String, String> isolateProperties(String namespace) {
+    Map<String, String> properties = new HashMap<>();
+    captureProperties().forEach((name, value) -> properties.put(name, String.valueOf(value)));
+    return isolateTimed(properties, namespace);
+  }
+
+  /**
+   * Isolates a part of the container through {@link #isolate(Map, String)}, and records the time it
+   * took as {@link ContainerPhase#ISOLATE} phase.
+   *
+   * @param properties the properties applied by the provider that started the container
+   * @param namespace a name unique to the calling JVM or isolation unit
+   * @return the properties of the isolated part of the container
+   */
+  final Map<String, String> isolateTimed(Map<String, String> properties, String namespace) {
+    AtomicReference<Map<String, String>> isolated = new AtomicReference<>();
+    timed(ContainerPhase.ISOLATE, () -> isolated.set(isolate(properties, namespace)));
+    return isolated.get();
+  }
+
+  /**
+   * Releases an isolated part of the container through {@link #releaseIsolated(Map)}.
+   *
+   * @param properties the properties of the isolated part
+   */
+  @Override
+  public final void releaseIsolatedProperties(Map<String, String> properties) {
+    releaseIsolated(properties);
+  }
+
+  /**
+   * Applies the container properties to the Spring environment through {@link
+   * #applyTo(ConfigurableEnvironment)}, and records the time it took as {@link
+   * ContainerPhase#APPLY} phase.
+   *
+   * @param environment the Spring environment to configure
+   */
+  @Override
+  public final void configure(ConfigurableEnvironment environment) {
+    timed(ContainerPhase.APPLY, () -> applyTo(environment));
+  }
+
+  /**
+   * Applies the container properties to a scratch environment and captures the values of the {@link
+   * #getPropertyNames() declared properties}.
+   *
+   * @return the values of the declared properties, by name
+   */
+  @Override
+  public final Map<String, Object> captureProperties() {
+    ConfigurableEnvironment scratch = new AbstractEnvironment() {};
+    configure(scratch);
+
+    Map<String, Object> captured = new HashMap<>();
+    for (String name : getPropertyNames()) {
+      for (PropertySource<?> source : scratch.getPropertySources()) {
+        Object value = source.getProperty(name);
+        if (value != null) {
+          captured.put(name, value);
+          break;
+        }
+      }
+    }
+    return captured;
+  }
+
+  /**
+   * Returns whether the container is shared with other test JVMs through {@link ContainerForks},
+   * which is the case for containers that are shareable, started eagerly and declare their
+   * properties, when {@value ContainerForks#FORK_SHARING_ENABLED} is set.
+   *
+   * @return true if the container is shared with other test JVMs
+   */
+  protected final boolean isForkShared() {
+    ContainerKey key = ContainerKey.of(enableContainerAnnotation);
+    return ContainerForks.isEnabled()
+        && ContainerSettings.isSharingEnabled()
+        && !key.isLazy()
+        && !getPropertyNames().isEmpty();
+  }
+
+  /**
+   * Returns the accumulated duration of every lifecycle phase of the container measured so far.
+   *
+   * @return the durations in nanoseconds, by phase
+   */
+  @Override
+  public Map<ContainerPhase, Long> getTimings() {
+    return new EnumMap<>(timings);
+  }
+
+  /**
+   * Runs an action as part of a lifecycle phase of the container and records its duration, both on
+   * this provider and in the {@link ContainerTimings} of the test run. The phase is also emitted as
+   * a Java Flight Recorder event while a recording is running.
+   *
+   * @param phase the lifecycle phase the action belongs to
+   * @param action the action to run
+   */
+  protected final void timed(ContainerPhase phase, Runnable action) {
+    ContainerPhaseEvent event = new ContainerPhaseEvent();
+    event.begin();
+    long startTime = System.nanoTime();
+    try {
+      action.run();
+    } finally {
+      long nanos = System.nanoTime() - startTime;
+      if (event.shouldCommit()) {
+        event.phase = phase.name();
+        event.containerType = getContainerType().name();
+        event.image = dockerImage;
+        event.version = version;
+        event.commit();
+      }
+      timings.merge(phase, nanos, Long::sum);
+      ContainerTimings.recordPhase(getContainerType(), dockerImage + ":" + version, phase, nanos);
+      log.debug("{} of container {}:{} took {} ms", phase, dockerImage, version, nanos / 1_000_000);
+    }
+  }
 }
@@ -0,0 +1,78 @@
+package io.flowinquiry.testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests the startup slot files and the adaptive limit of {@link ContainerAdmission}. */
+public class ContainerAdmissionTest {
+
+  private static final int MAX_STARTUPS = 4;
+
+  @TempDir Path lockDir;
+
+  @BeforeEach
+  public void configure() {
+    System.setProperty(ContainerAdmission.MAX_CONCURRENT_STARTUPS, String.valueOf(MAX_STARTUPS));
+    System.setProperty(ContainerAdmission.STARTUP_LOCK_DIR, lockDir.toString());
+  }
+
+  @AfterEach
+  public void reset() {
+    System.clearProperty(ContainerAdmission.MAX_CONCURRENT_STARTUPS);
+    System.clearProperty(ContainerAdmission.STARTUP_LOCK_DIR);
+  }
+
+  @Test
+  public void testPermitLocksSlotFile() throws Exception {
+    Path slotFile = lockDir.resolve("slot-0.lock");
+    ContainerAdmission.Permit permit = ContainerAdmission.acquire();
+    try (FileChannel channel = FileChannel.open(slotFile, StandardOpenOption.WRITE)) {
+      assertThrows(OverlappingFileLockException.class, channel::tryLock);
+
+      permit.release("slot-image", true);
+      try (FileLock lock = channel.tryLock()) {
+        assertNotNull(lock, "The slot file must be unlocked once released");
+      }
+    }
+  }
+
+  @Test
+  public void testLimitAdaptsToStartupLatency() throws Exception {
+    // Every image has its own fastest startup, so each of these startups counts as fast
+    for (int i = 0; i < MAX_STARTUPS; i++) {
+      ContainerAdmission.acquire().release("fast-image-" + i, true);
+    }
+    assertEquals(MAX_STARTUPS, ContainerAdmission.adaptiveLimit());
+
+    ContainerAdmission.acquire().release("latency-image", true);
+    assertEquals(MAX_STARTUPS, ContainerAdmission.adaptiveLimit());
+
+    ContainerAdmission.Permit slow = ContainerAdmission.acquire();
+    Thread.sleep(200);
+    slow.release("latency-image", true);
+    assertEquals(MAX_STARTUPS / 2, ContainerAdmission.adaptiveLimit());
+
+    ContainerAdmission.acquire().release("latency-image", false);
+    assertEquals(MAX_STARTUPS / 4, ContainerAdmission.adaptiveLimit());
+  }
+
+  @Test
+  public void testLimitNeverExceedsMaximum() {
+    System.setProperty(ContainerAdmission.MAX_CONCURRENT_STARTUPS, "1");
+    assertEquals(1, ContainerAdmission.currentLimit());
+
+    ContainerAdmission.acquire().release("capped-image", true);
+    assertEquals(1, ContainerAdmission.adaptiveLimit());
+  }
+}
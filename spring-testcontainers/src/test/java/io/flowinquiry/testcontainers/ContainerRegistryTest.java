@@ -0,0 +1,105 @@
+package io.flowinquiry.testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ * Tests the reference counting of the containers pooled by {@link ContainerRegistry}, and the stop
+ * of idle containers.
+ */
+public class ContainerRegistryTest {
+
+  @Test
+  public void testSameConfigurationSharesOneContainer(TestInfo testInfo) {
+    ContainerKey key = FakeContainerHandle.key(testInfo.getDisplayName());
+    AtomicInteger created = new AtomicInteger();
+    List<CompletableFuture<ContainerHandle>> acquisitions = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      acquisitions.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  ContainerRegistry.acquire(
+                      key,
+                      () -> {
+                        created.incrementAndGet();
+                        return new FakeContainerHandle("fake://shared");
+                      })));
+    }
+
+    ContainerHandle first = acquisitions.get(0).join();
+    for (CompletableFuture<ContainerHandle> acquisition : acquisitions) {
+      assertSame(first, acquisition.join());
+    }
+    assertEquals(1, created.get());
+    assertSame(first, ContainerRegistry.get(key));
+
+    for (int i = 0; i < acquisitions.size(); i++) {
+      ContainerRegistry.release(key);
+    }
+  }
+
+  @Test
+  public void testContainerStopsWithLastReference(TestInfo testInfo) {
+    ContainerKey key = FakeContainerHandle.key(testInfo.getDisplayName(), getClass());
+    FakeContainerHandle handle = new FakeContainerHandle("fake://scoped");
+
+    ContainerRegistry.acquire(key, () -> handle);
+    ContainerRegistry.acquire(key, () -> new FakeContainerHandle("fake://duplicate"));
+    ContainerRegistry.release(key);
+    assertEquals(0, handle.stops.get());
+    assertSame(handle, ContainerRegistry.get(key));
+
+    ContainerRegistry.release(key);
+    assertEquals(1, handle.stops.get());
+    assertNull(ContainerRegistry.get(key));
+  }
+
+  @Test
+  public void testContextReferenceKeepsContainerRunning(TestInfo testInfo) {
+    ContainerKey key = FakeContainerHandle.key(testInfo.getDisplayName(), getClass());
+    FakeContainerHandle handle = new FakeContainerHandle("fake://context");
+
+    ContainerRegistry.acquire(key, () -> handle);
+    assertSame(handle, ContainerRegistry.retain(key));
+    ContainerRegistry.release(key);
+    assertEquals(0, handle.stops.get());
+
+    ContainerRegistry.release(key);
+    assertEquals(1, handle.stops.get());
+    assertNull(ContainerRegistry.retain(key));
+  }
+
+  @Test
+  public void testIdleContainerStopsAfterTimeout(TestInfo testInfo) throws Exception {
+    ContainerKey key = FakeContainerHandle.key(testInfo.getDisplayName());
+    FakeContainerHandle handle = new FakeContainerHandle("fake://idle");
+    System.setProperty(ContainerRegistry.IDLE_TIMEOUT, "1");
+    ContainerRegistry.sessionOpened();
+    try {
+      ContainerRegistry.acquire(key, () -> handle);
+      ContainerRegistry.release(key);
+      assertSame(
+          handle, ContainerRegistry.acquire(key, () -> new FakeContainerHandle("fake://new")));
+      Thread.sleep(1500);
+      assertEquals(0, handle.stops.get(), "Acquiring the container must cancel its idle stop");
+
+      ContainerRegistry.release(key);
+      assertEquals(0, handle.stops.get());
+      assertTrue(handle.stopped.await(10, TimeUnit.SECONDS), "Idle container was not stopped");
+      assertNull(ContainerRegistry.get(key));
+    } finally {
+      ContainerRegistry.sessionClosed();
+      System.clearProperty(ContainerRegistry.IDLE_TIMEOUT);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package io.flowinquiry.testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests the JSON timing summary written by {@link ContainerTimings}. */
+public class ContainerTimingsTest {
+
+  @TempDir Path reportDir;
+
+  @BeforeEach
+  public void configure() {
+    System.setProperty(ContainerTimings.REPORT_DIR, reportDir.toString());
+  }
+
+  @AfterEach
+  public void reset() {
+    System.clearProperty(ContainerTimings.REPORT_DIR);
+    System.clearProperty(ContainerTimings.REPORT_ENABLED);
+  }
+
+  @Test
+  public void testReportAggregatesPhasesAndTestClasses() throws Exception {
+    ContainerTimings.recordPhase(ContainerType.KAFKA, "kafka:3.7", ContainerPhase.START, 1000);
+    ContainerTimings.recordPhase(ContainerType.KAFKA, "kafka:3.8", ContainerPhase.START, 2000);
+    ContainerTimings.recordPhase(ContainerType.KAFKA, "kafka:3.8", ContainerPhase.STOP, 500);
+    ContainerKey key = FakeContainerHandle.key("timings");
+    ContainerTimings.recordAcquisition(getClass(), key, 300);
+    ContainerTimings.recordAcquisition(getClass(), key, 200);
+
+    ContainerTimings.writeReport();
+
+    String json = Files.readString(reportDir.resolve(ContainerTimings.REPORT_FILE));
+    assertTrue(json.contains("\"images\": [\"kafka:3.7\", \"kafka:3.8\"]"), json);
+    assertTrue(json.contains("\"START\": {\"count\": 2, \"totalNanos\": 3000}"), json);
+    assertTrue(json.contains("\"STOP\": {\"count\": 1, \"totalNanos\": 500}"), json);
+    assertTrue(
+        json.contains(
+            ContainerTimings.quote(getClass().getName()) + ": {\n      \"totalNanos\": 500"),
+        json);
+    assertTrue(
+        json.contains(
+            ContainerTimings.quote(key.toString()) + ": {\"count\": 2, \"totalNanos\": 500}"),
+        json);
+  }
+
+  @Test
+  public void testReportResetsTimings() throws Exception {
+    ContainerTimings.recordPhase(ContainerType.KAFKA, "kafka:3.8", ContainerPhase.START, 1000);
+    ContainerTimings.writeReport();
+    Path reportFile = reportDir.resolve(ContainerTimings.REPORT_FILE);
+    Files.delete(reportFile);
+
+    ContainerTimings.writeReport();
+    assertFalse(Files.exists(reportFile));
+  }
+
+  @Test
+  public void testReportCanBeDisabled() {
+    System.setProperty(ContainerTimings.REPORT_ENABLED, "false");
+    ContainerTimings.recordPhase(ContainerType.KAFKA, "kafka:3.8", ContainerPhase.START, 1000);
+
+    ContainerTimings.writeReport();
+    assertFalse(Files.exists(reportDir.resolve(ContainerTimings.REPORT_FILE)));
+  }
+
+  @Test
+  public void testQuoteEscapesJsonStrings() {
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", ContainerTimings.quote("a\"b\\c\nd\u0001"));
+  }
+}
@@ -0,0 +1,110 @@
+package io.flowinquiry.testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.ContainerUsage.Action;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests the JSON and HTML usage reports written by {@link ContainerUsage}. */
+public class ContainerUsageTest {
+
+  private static final Pattern IDLE_SECONDS = Pattern.compile("\"idleSeconds\": ([0-9.]+)");
+
+  @TempDir Path reportDir;
+
+  @BeforeEach
+  public void configure() {
+    System.setProperty(ContainerTimings.REPORT_DIR, reportDir.toString());
+  }
+
+  @AfterEach
+  public void reset() {
+    System.clearProperty(ContainerTimings.REPORT_DIR);
+  }
+
+  /** First test class using the reported configuration. */
+  static final class FirstTest {}
+
+  /** Second test class using the reported configuration. */
+  static final class SecondTest {}
+
+  @Test
+  public void testReportShowsDuplicateStarts() throws Exception {
+    ContainerKey first = FakeContainerHandle.key("<duplicate>", FirstTest.class);
+    ContainerKey second = FakeContainerHandle.key("<duplicate>", SecondTest.class);
+    ContainerUsage.record(Action.START, first, null);
+    ContainerUsage.record(Action.ATTACH, first, FirstTest.class);
+    ContainerUsage.record(Action.START, second, null);
+    ContainerUsage.record(Action.ATTACH, second, SecondTest.class);
+    ContainerUsage.record(Action.RELEASE, first, FirstTest.class);
+    ContainerUsage.record(Action.STOP, first, null);
+    ContainerUsage.record(Action.RELEASE, second, SecondTest.class);
+    ContainerUsage.record(Action.STOP, second, null);
+
+    ContainerUsage.writeReport();
+
+    String configuration = configurationLine("@FakeContainer{name=<duplicate>}");
+    assertTrue(
+        configuration.contains(
+            "\"containerStarts\": 2, \"duplicateStarts\": 1, \"maxConcurrent\": 2"),
+        configuration);
+    assertTrue(
+        configuration.contains(
+            "\"testClasses\": ["
+                + ContainerTimings.quote(FirstTest.class.getName())
+                + ", "
+                + ContainerTimings.quote(SecondTest.class.getName())
+                + "]"),
+        configuration);
+
+    String html = Files.readString(reportDir.resolve(ContainerUsage.REPORT_HTML_FILE));
+    assertTrue(
+        html.contains(
+            "<tr class=\"duplicate\"><td><code>@FakeContainer{name=&lt;duplicate&gt;}</code>"),
+        html);
+    assertTrue(html.contains(FirstTest.class.getName() + "<br>" + SecondTest.class.getName()));
+  }
+
+  @Test
+  public void testReportShowsIdleTime() throws Exception {
+    ContainerKey key = FakeContainerHandle.key("idle");
+    ContainerUsage.record(Action.START, key, null);
+    Thread.sleep(100);
+    ContainerUsage.record(Action.ATTACH, key, FirstTest.class);
+    ContainerUsage.record(Action.RELEASE, key, FirstTest.class);
+    ContainerUsage.record(Action.STOP, key, null);
+
+    ContainerUsage.writeReport();
+
+    String configuration = configurationLine("@FakeContainer{name=idle}");
+    assertTrue(
+        configuration.contains("\"containerStarts\": 1, \"duplicateStarts\": 0"), configuration);
+    Matcher idleSeconds = IDLE_SECONDS.matcher(configuration);
+    assertTrue(idleSeconds.find(), configuration);
+    assertTrue(Double.parseDouble(idleSeconds.group(1)) >= 0.09, configuration);
+
+    String container = "\"container\": " + ContainerTimings.quote(key.toString());
+    assertEquals(
+        4,
+        Files.readAllLines(reportDir.resolve(ContainerUsage.REPORT_JSON_FILE)).stream()
+            .filter(line -> line.contains(container))
+            .count());
+  }
+
+  /** Returns the line of the JSON report describing a configuration. */
+  private String configurationLine(String configuration) throws Exception {
+    String quoted = "{\"configuration\": " + ContainerTimings.quote(configuration) + ",";
+    return Files.readAllLines(reportDir.resolve(ContainerUsage.REPORT_JSON_FILE)).stream()
+        .filter(line -> line.contains(quoted))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No configuration " + configuration));
+  }
+}
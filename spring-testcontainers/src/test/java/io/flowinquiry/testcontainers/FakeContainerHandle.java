@@ -0,0 +1,82 @@
+package io.flowinquiry.testcontainers;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/** A container handle that counts its stops instead of running a container. */
+final class FakeContainerHandle implements ContainerHandle {
+
+  /** Annotation type of the keys of fake containers. */
+  @Retention(RetentionPolicy.RUNTIME)
+  @interface FakeContainer {}
+
+  /** Property applied by fake containers. */
+  static final String URL_PROPERTY = "fake.url";
+
+  final AtomicInteger stops = new AtomicInteger();
+
+  final CountDownLatch stopped = new CountDownLatch(1);
+
+  private final String url;
+
+  FakeContainerHandle(String url) {
+    this.url = url;
+  }
+
+  /** Returns a shareable key of a fake container configuration. */
+  static ContainerKey key(String name) {
+    return new ContainerKey(FakeContainer.class, Map.of("name", name), null);
+  }
+
+  /** Returns a key of a fake container configuration scoped to a test class. */
+  static ContainerKey key(String name, Class<?> owner) {
+    return new ContainerKey(FakeContainer.class, Map.of("name", name), owner);
+  }
+
+  @Override
+  public ContainerType getContainerType() {
+    return ContainerType.POSTGRESQL;
+  }
+
+  @Override
+  public Set<String> getPropertyNames() {
+    return Set.of(URL_PROPERTY);
+  }
+
+  @Override
+  public void configure(ConfigurableEnvironment environment) {
+    environment
+        .getPropertySources()
+        .addFirst(new MapPropertySource(url, Map.of(URL_PROPERTY, url)));
+  }
+
+  @Override
+  public Map<String, Object> captureProperties() {
+    return Map.of(URL_PROPERTY, url);
+  }
+
+  @Override
+  public Map<String, String> isolateProperties(String namespace) {
+    return Map.of(URL_PROPERTY, url + "/" + namespace);
+  }
+
+  @Override
+  public void releaseIsolatedProperties(Map<String, String> properties) {}
+
+  @Override
+  public Map<ContainerPhase, Long> getTimings() {
+    return Map.of();
+  }
+
+  @Override
+  public void stop() {
+    stops.incrementAndGet();
+    stopped.countDown();
+  }
+}
@@ -0,0 +1,107 @@
+package io.flowinquiry.testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.flowinquiry.testcontainers.FakeContainerHandle.FakeContainer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/** Tests that lazy containers are started by the first read of one of their properties. */
+public class LazyContainerPropertySourceTest {
+
+  @Test
+  public void testContainerStartsOnFirstPropertyRead(TestInfo testInfo) {
+    ContainerKey key = lazyKey(testInfo);
+    LazyProvider provider = new LazyProvider();
+    ContainerRegistry.acquireLazily(key, () -> provider);
+
+    StandardEnvironment environment = new StandardEnvironment();
+    environment
+        .getPropertySources()
+        .addFirst(new LazyContainerPropertySource(key, provider.getPropertyNames()));
+    assertTrue(environment.containsProperty(FakeContainerHandle.URL_PROPERTY));
+    assertEquals(0, provider.starts.get(), "Checking a property must not start the container");
+
+    assertEquals("fake://lazy", environment.getProperty(FakeContainerHandle.URL_PROPERTY));
+    assertEquals("fake://lazy", environment.getProperty(FakeContainerHandle.URL_PROPERTY));
+    assertEquals(1, provider.starts.get());
+
+    ContainerRegistry.release(key);
+    assertEquals(1, provider.stops.get());
+  }
+
+  @Test
+  public void testUnusedContainerIsNeverStarted(TestInfo testInfo) {
+    ContainerKey key = lazyKey(testInfo);
+    LazyProvider provider = new LazyProvider();
+    ContainerRegistry.acquireLazily(key, () -> provider);
+
+    ContainerRegistry.release(key);
+    assertEquals(0, provider.starts.get());
+    assertEquals(0, provider.stops.get());
+  }
+
+  private ContainerKey lazyKey(TestInfo testInfo) {
+    return new ContainerKey(
+        FakeContainer.class, Map.of("name", testInfo.getDisplayName(), "lazy", true), getClass());
+  }
+
+  /** A provider counting its starts and stops instead of running a container. */
+  static final class LazyProvider extends SpringAwareContainerProvider<FakeContainer, NoContainer> {
+
+    final AtomicInteger starts = new AtomicInteger();
+
+    final AtomicInteger stops = new AtomicInteger();
+
+    @Override
+    protected NoContainer createContainer() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void start() {
+      starts.incrementAndGet();
+    }
+
+    @Override
+    public void stop() {
+      stops.incrementAndGet();
+    }
+
+    @Override
+    public ContainerType getContainerType() {
+      return ContainerType.POSTGRESQL;
+    }
+
+    @Override
+    public Set<String> getPropertyNames() {
+      return Set.of(FakeContainerHandle.URL_PROPERTY);
+    }
+
+    @Override
+    public void applyTo(ConfigurableEnvironment environment) {
+      environment
+          .getPropertySources()
+          .addFirst(
+              new MapPropertySource(
+                  "fake", Map.of(FakeContainerHandle.URL_PROPERTY, "fake://lazy")));
+    }
+  }
+
+  /** Container type of {@link LazyProvider}, never instantiated. */
+  static final class NoContainer extends GenericContainer<NoContainer> {
+
+    NoContainer() {
+      super(DockerImageName.parse("fake"));
+    }
+  }
+}